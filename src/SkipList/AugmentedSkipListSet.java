@@ -0,0 +1,288 @@
+package SkipList;
+
+import java.util.Collection;
+/**
+ * This class extends the skip list set so that range aggregates, such as the number of elements or the sum of their
+ * values between two bounds, are answered without visiting every element of the range. Each element of every level
+ * keeps a summary of the bottom elements it skips over, from itself up to, but excluding, its next element. The
+ * summaries are merged through a SkipListMonoid, and are updated by add() and remove() along the search path, so that
+ * aggregate() only combines O(log n) summaries no matter how wide the range is.
+ * @param <T> accepts generics as parameters.
+ * @param <A> type of the summary kept for each range.
+ */
+public class AugmentedSkipListSet <T extends Comparable<T>, A> extends SkipListSet<T> {
+    private SkipListMonoid<? super T, A> monoid;
+
+    /**
+     * This class adds the summary of its span to an element. Only the augmented skip list creates elements of this
+     * class, so that other skip lists don't carry a summary they never use.
+     * @param <T> accepts generics as parameters.
+     */
+    private static class Item <T extends Comparable<T>> extends SkipListSetItem<T> {
+        private Object summary;
+
+        private Item(T value) {
+            super(value);
+        }
+    }
+
+    /**
+     * Default constructor to initialize an augmented skip list, given how its ranges are to be summarized.
+     * @param monoid monoid used to summarize the elements of a range.
+     */
+    public AugmentedSkipListSet(SkipListMonoid<? super T, A> monoid) {
+        super();
+        this.monoid = monoid;
+    }
+
+    /**
+     * Secondary constructor to initialize an augmented skip list, retrieving each value of a collection and adding it
+     * to the skip list.
+     * @param monoid monoid used to summarize the elements of a range.
+     * @param collection collection whose value is to be stored in the skip list.
+     */
+    public AugmentedSkipListSet(SkipListMonoid<? super T, A> monoid, Collection<? extends T> collection) {
+        this(monoid);
+        addAll(collection);
+    }
+
+    /**
+     * This method returns the summary of every element greater than or equal to fromElement and less than toElement.
+     * Starting from the first element of the range, the method climbs as long as the span of the next level up still
+     * ends within the range, then climbs back down once it no longer does. Only the summaries of the spans it lands
+     * on are combined, which is O(log n) spans.
+     * @param fromElement low endpoint (inclusive) of the range.
+     * @param toElement high endpoint (exclusive) of the range.
+     * @return Returns the summary of the range, or the identity summary if the range is empty.
+     */
+    public A aggregate(T fromElement, T toElement) {
+        A result = monoid.identity();
+
+        if(isEmpty() || fromElement.compareTo(toElement) >= 0) {
+            return result;
+        }
+
+        SkipListSetItem<T> current = search(fromElement);
+        if(current.compareTo(fromElement) < 0) {
+            current = current.getNext();
+        }
+
+        while(current != null && current.compareTo(toElement) < 0) {
+            while(current.getAbove() != null && endsWithin(current.getAbove(), toElement)) {
+                current = current.getAbove();
+            }
+            while(current.getBelow() != null && !endsWithin(current, toElement)) {
+                current = current.getBelow();
+            }
+
+            result = monoid.combine(result, summaryOf(current));
+            current = current.getNext();
+        }
+
+        return result;
+    }
+
+    /**
+     * This method returns the summary of every element within the skip list, which is kept by the top of the head.
+     * @return Returns the summary of the whole skip list.
+     */
+    public A aggregate() {
+        if(isEmpty()) {
+            return monoid.identity();
+        }
+
+        SkipListSetItem<T> current = getHead();
+        while(current.getAbove() != null) {
+            current = current.getAbove();
+        }
+        return summaryOf(current);
+    }
+
+    /**
+     * This method adds specified element in the skip list, then updates the summaries along its search path.
+     * @param value element whose presence in this collection is to be ensured.
+     * @return Returns true if value is successfully added to the skip list, and false if value is already in the list.
+     */
+    @Override
+    public boolean add(T value) {
+        if(!super.add(value)) {
+            return false;
+        }
+
+        refresh(value);
+        return true;
+    }
+
+    /**
+     * This method removes specified element from the skip list, then updates the summaries along its search path.
+     * @param value object to be removed from this set, if present.
+     * @return Returns true if element is successfully removed, otherwise returns false.
+     */
+    @Override
+    public boolean remove(Object value) {
+        if(!super.remove(value)) {
+            return false;
+        }
+
+        refresh((T) value);
+        return true;
+    }
+
+    /**
+     * This method removes every element within a range, then updates the summaries of the elements left on either side
+     * of the removed segment.
+     * @param fromElement low endpoint (inclusive) of the range to be removed.
+     * @param toElement high endpoint (exclusive) of the range to be removed.
+     * @return Returns the number of elements removed from the skip list.
+     */
+    @Override
+    public int removeRange(T fromElement, T toElement) {
+        int removed = super.removeRange(fromElement, toElement);
+
+        if(removed > 0) {
+            refresh(fromElement);
+        }
+        return removed;
+    }
+
+    /**
+     * This method retains similar elements between a collection and the skip list, then rebuilds every summary.
+     * @param collection collection containing elements to be retained in this set
+     * @return Always returns true after completion of the retaining operations.
+     */
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        super.retainAll(collection);
+        recomputeAll();
+        return true;
+    }
+
+    /** This method balances the skip list, then rebuilds every summary since the levels of the list have changed. */
+    @Override
+    public void reBalance() {
+        super.reBalance();
+        recomputeAll();
+    }
+
+    /**
+     * This method is unsupported, since promoting elements would change the levels of the list on every lookup.
+     * @param adaptive true to track lookups and adjust tower heights.
+     * @throws UnsupportedOperationException if adaptive is true.
+     */
+    @Override
+    public void setAdaptive(boolean adaptive) {
+        if(adaptive) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * This method is unsupported, since the summaries would have to leave out every tombstone.
+     * @param lazyDeletion true to leave removed elements in place until the next compaction.
+     * @throws UnsupportedOperationException if lazyDeletion is true.
+     */
+    @Override
+    public void setLazyDeletion(boolean lazyDeletion) {
+        if(lazyDeletion) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * This internal method creates every element of the augmented skip list as one able to hold a summary.
+     * @param value value to be stored in the element.
+     * @return Returns a new element on the bottom level, holding the given value.
+     */
+    @Override
+    SkipListSetItem<T> newItem(T value) {
+        return new Item<>(value);
+    }
+
+    /**
+     * This internal method checks whether the span of a given element ends within a range, meaning that every bottom
+     * element skipped over by the given element is less than toElement.
+     * @param current element whose span is to be checked.
+     * @param toElement high endpoint (exclusive) of the range.
+     * @return Returns true if the span of the element ends within the range, otherwise returns false.
+     */
+    private boolean endsWithin(SkipListSetItem<T> current, T toElement) {
+        if(current.getNext() == null) {
+            return last().compareTo(toElement) < 0;
+        }
+        return current.getNext().compareTo(toElement) <= 0;
+    }
+
+    /**
+     * This internal method returns the summary kept by an element.
+     * @param current element whose summary is to be returned.
+     * @return Returns the summary of the span of the element.
+     */
+    private A summaryOf(SkipListSetItem<T> current) {
+        return (A) ((Item<T>) current).summary;
+    }
+
+    /**
+     * This internal method computes the summary of a single element from the level right below it. Bottom elements
+     * only summarize their own value, while elements of higher levels combine the summaries of every element below
+     * them up to the element below their next element.
+     * @param current element whose summary is to be computed, which may be null.
+     */
+    private void recompute(SkipListSetItem<T> current) {
+        if(current == null) {
+            return ;
+        }
+
+        if(current.getBelow() == null) {
+            ((Item<T>) current).summary = monoid.lift(current.getValue());
+            return ;
+        }
+
+        SkipListSetItem<T> stop = current.getNext() == null ? null : current.getNext().getBelow();
+        SkipListSetItem<T> node = current.getBelow();
+        A summary = summaryOf(node);
+
+        for(node = node.getNext(); node != stop; node = node.getNext()) {
+            summary = monoid.combine(summary, summaryOf(node));
+        }
+
+        ((Item<T>) current).summary = summary;
+    }
+
+    /**
+     * This internal method updates the summaries affected by adding or removing a given value. On each level, from
+     * the bottom up, the element whose span holds the value is recomputed along with both of its neighbors, which
+     * covers the element that was inserted or removed as well as the head when its value changes.
+     * @param value value that was added to or removed from the skip list.
+     */
+    private void refresh(T value) {
+        if(isEmpty()) {
+            return ;
+        }
+
+        SkipListSetItem<T> current = search(value);
+
+        while(current != null) {
+            recompute(current.getPrevious());
+            recompute(current);
+            recompute(current.getNext());
+
+            while(current != null && current.getAbove() == null) {
+                current = current.getPrevious();
+            }
+            current = current == null ? null : current.getAbove();
+        }
+    }
+
+    /** This internal method computes the summary of every element, level by level from the bottom up. */
+    private void recomputeAll() {
+        if(isEmpty()) {
+            return ;
+        }
+
+        for(SkipListSetItem<T> levelHead = getHead(); levelHead != null; levelHead = levelHead.getAbove()) {
+            for(SkipListSetItem<T> current = levelHead; current != null; current = current.getNext()) {
+                recompute(current);
+            }
+        }
+    }
+}
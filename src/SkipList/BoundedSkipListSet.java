@@ -0,0 +1,99 @@
+package SkipList;
+
+/**
+ * This class extends the skip list set so that it never holds more than a fixed number of elements, keeping either
+ * the largest or the smallest ones it was given. Once the set is full, a value that would be evicted right away is
+ * rejected by comparing it against first() or last(), without descending the skip list. An accepted value is added
+ * as usual, and the element on the opposite end of the list is then unlinked through the head or the tail, which
+ * does not require a search either.
+ * @param <T> accepts generics as parameters.
+ */
+public class BoundedSkipListSet <T extends Comparable<T>> extends SkipListSet<T> {
+    private int capacity;
+    private boolean keepLargest;
+
+    /**
+     * The constructor takes in the maximum number of elements to be kept and which end of the list to keep.
+     * @param capacity maximum number of elements held by the set.
+     * @param keepLargest true to keep the largest elements, false to keep the smallest ones.
+     * @throws IllegalArgumentException if capacity isn't positive.
+     */
+    private BoundedSkipListSet(int capacity, boolean keepLargest) {
+        super();
+
+        if(capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.capacity = capacity;
+        this.keepLargest = keepLargest;
+    }
+
+    /**
+     * This method creates a bounded set keeping the k largest elements it is given, such as the top scores of a
+     * leaderboard.
+     * @param k maximum number of elements held by the set.
+     * @return Returns an empty set keeping the largest elements.
+     * @param <T> accepts generics as parameters.
+     * @throws IllegalArgumentException if k isn't positive.
+     */
+    public static <T extends Comparable<T>> BoundedSkipListSet<T> largest(int k) {
+        return new BoundedSkipListSet<>(k, true);
+    }
+
+    /**
+     * This method creates a bounded set keeping the k smallest elements it is given.
+     * @param k maximum number of elements held by the set.
+     * @return Returns an empty set keeping the smallest elements.
+     * @param <T> accepts generics as parameters.
+     * @throws IllegalArgumentException if k isn't positive.
+     */
+    public static <T extends Comparable<T>> BoundedSkipListSet<T> smallest(int k) {
+        return new BoundedSkipListSet<>(k, false);
+    }
+
+    /**
+     * Getter method to retrieve the maximum number of elements held by the set.
+     * @return Returns the capacity of the set.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * This method adds specified element in the set as long as it belongs among the kept elements. When the set is
+     * full, a value that isn't beyond the current boundary is rejected right away, otherwise the value is added and
+     * the boundary element is evicted.
+     * @param value element whose presence in this collection is to be ensured.
+     * @return Returns true if value is added to the set, and false if value is already in the set or is rejected.
+     */
+    @Override
+    public boolean add(T value) {
+        if(size() < capacity) {
+            return super.add(value);
+        }
+
+        if(keepLargest ? value.compareTo(first()) <= 0 : value.compareTo(last()) >= 0) {
+            return false;
+        }
+
+        if(!super.add(value)) {
+            return false;
+        }
+
+        delete(keepLargest ? getHead() : getTail());
+        return true;
+    }
+
+    /**
+     * This method is unsupported, since the boundary checked by add() must always be a live element.
+     * @param lazyDeletion true to leave removed elements in place until the next compaction.
+     * @throws UnsupportedOperationException if lazyDeletion is true.
+     */
+    @Override
+    public void setLazyDeletion(boolean lazyDeletion) {
+        if(lazyDeletion) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package SkipList;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedSet;
+/**
+ * This class implements an immutable, read-optimized form of the skip list set. Rather than linking instances of
+ * SkipListSetItem together, every element is stored in ascending order within a single contiguous array. Lookups
+ * are performed through a binary search over the array and iteration walks the array sequentially. Instances are
+ * created by calling SkipListSet.freeze(), and can be turned back into a mutable skip list by calling thaw().
+ * @param <T> accepts generics as parameters.
+ */
+public class FrozenSkipListSet <T extends Comparable<T>> implements SortedSet<T> {
+    private final T[] values;
+    private final int from;
+    private final int to;
+    private final T lowBound;
+    private final T highBound;
+
+    /**
+     * This constructor is called by SkipListSet.freeze(). The given array is stored as is, meaning that its values
+     * must already be sorted in ascending order and free of duplicates.
+     * @param values array containing the elements of the frozen set.
+     */
+    FrozenSkipListSet(T[] values) {
+        this(values, 0, values.length, null, null);
+    }
+
+    /**
+     * This constructor is used to create a view over a portion of the array of another frozen set. Since the array
+     * is never modified, the view shares it rather than copying it. The view also keeps the endpoints it was created
+     * with, so that views taken from it can be checked against its range.
+     * @param values array containing the elements of the frozen set.
+     * @param from index of the first element of the set (inclusive).
+     * @param to index of the last element of the set (exclusive).
+     * @param lowBound low endpoint (inclusive) of the view, or null if the view has none.
+     * @param highBound high endpoint (exclusive) of the view, or null if the view has none.
+     */
+    private FrozenSkipListSet(T[] values, int from, int to, T lowBound, T highBound) {
+        this.values = values;
+        this.from = from;
+        this.to = to;
+        this.lowBound = lowBound;
+        this.highBound = highBound;
+    }
+
+    /**
+     * This internal method checks that an endpoint given to subSet(), headSet() or tailSet() lies within the range
+     * of the frozen set. Since the high endpoint of a view is exclusive, only a high endpoint may be equal to it.
+     * @param value endpoint to be checked.
+     * @param high true if value is the high endpoint of the new view, false if it is the low endpoint.
+     * @throws IllegalArgumentException if the endpoint lies outside the range of the view.
+     */
+    private void checkRange(T value, boolean high) {
+        if((lowBound != null && value.compareTo(lowBound) < 0) || (highBound != null
+                && value.compareTo(highBound) > (high ? 0 : -1))) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * This internal method performs search operations. Given a specified value, search() returns the index of the
+     * first element greater than or equal to the given value. The loop only ever moves its lower bound, which lets
+     * the compiler replace the comparison branch with a conditional move.
+     * @param value value whose position in the array is to be found.
+     * @return Returns the index of the first element that isn't less than value, or the end of the set if none is.
+     */
+    private int search(T value) {
+        int base = from;
+        int length = to - from;
+
+        if(length == 0) {
+            return to;
+        }
+
+        while(length > 1) {
+            int half = length >>> 1;
+            base = values[base + half].compareTo(value) < 0 ? base + half : base;
+            length -= half;
+        }
+
+        return values[base].compareTo(value) < 0 ? base + 1 : base;
+    }
+
+    /**
+     * This method creates a mutable skip list containing every element of the frozen set. Since the elements are
+     * already sorted, the skip list is built in linear time rather than through repeated calls to add().
+     * @return Returns a new instance of the SkipListSet class holding the same elements.
+     */
+    public SkipListSet<T> thaw() {
+        SkipListSet<T> skipListSet = new SkipListSet<>();
+        skipListSet.bulkLoad(values, from, to);
+        return skipListSet;
+    }
+
+    /**
+     * This method returns an iterator walking the array of the frozen set in ascending order. The iterator does not
+     * support removal.
+     * @return Returns an iterator over the elements of the frozen set.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return Collections.unmodifiableList(Arrays.asList(values).subList(from, to)).iterator();
+    }
+
+    /**
+     * This method returns the smallest element of the frozen set.
+     * @return Returns value of the first element within the frozen set.
+     * @throws NoSuchElementException if the set is empty.
+     */
+    @Override
+    public T first() {
+        if(isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return values[from];
+    }
+
+    /**
+     * This method returns the largest element of the frozen set.
+     * @return Returns value of the last element within the frozen set.
+     * @throws NoSuchElementException if the set is empty.
+     */
+    @Override
+    public T last() {
+        if(isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return values[to - 1];
+    }
+
+    /**
+     * Getter method to retrieve the size of a frozen set.
+     * @return Returns the size (cardinality) of the frozen set.
+     */
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    /**
+     * This method is used check if a frozen set is empty.
+     * @return Returns true if the frozen set has no element, otherwise return false
+     */
+    @Override
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    /**
+     * This method returns a view of the elements ranging from fromElement (inclusive) to toElement (exclusive). The
+     * view shares the array of the frozen set, so it is created in logarithmic time.
+     * @param fromElement low endpoint (inclusive) of the returned set
+     * @param toElement high endpoint (exclusive) of the returned set
+     * @return Returns a frozen set holding the elements within the given range.
+     * @throws IllegalArgumentException if fromElement is greater than toElement, or either endpoint lies outside the
+     * range of this set when it is itself a view
+     */
+    @Override
+    public SortedSet<T> subSet(T fromElement, T toElement) {
+        if(fromElement.compareTo(toElement) > 0) {
+            throw new IllegalArgumentException();
+        }
+        checkRange(fromElement, false);
+        checkRange(toElement, true);
+        return new FrozenSkipListSet<>(values, search(fromElement), search(toElement), fromElement, toElement);
+    }
+
+    /**
+     * This method returns a view of the elements strictly less than toElement.
+     * @param toElement high endpoint (exclusive) of the returned set
+     * @return Returns a frozen set holding the elements less than toElement.
+     * @throws IllegalArgumentException if toElement lies outside the range of this set when it is itself a view
+     */
+    @Override
+    public SortedSet<T> headSet(T toElement) {
+        checkRange(toElement, true);
+        return new FrozenSkipListSet<>(values, from, search(toElement), lowBound, toElement);
+    }
+
+    /**
+     * This method returns a view of the elements greater than or equal to fromElement.
+     * @param fromElement low endpoint (inclusive) of the returned set
+     * @return Returns a frozen set holding the elements greater than or equal to fromElement.
+     * @throws IllegalArgumentException if fromElement lies outside the range of this set when it is itself a view
+     */
+    @Override
+    public SortedSet<T> tailSet(T fromElement) {
+        checkRange(fromElement, false);
+        return new FrozenSkipListSet<>(values, search(fromElement), to, fromElement, highBound);
+    }
+
+    /**
+     * Elements are ordered using their natural ordering, in the same way as SkipListSet.
+     * @return Returns null
+     */
+    @Override
+    public Comparator<? super T> comparator() {
+        return null;
+    }
+
+    /**
+     * This method checks to see if a given object is contained within the frozen set, using a binary search over
+     * the array of the set.
+     * @param object element whose presence in this set is to be tested.
+     * @return Returns true if element is present in the set, otherwise returns false.
+     */
+    @Override
+    public boolean contains(Object object) {
+        int index = search((T) object);
+        return index < to && values[index].compareTo((T) object) == 0;
+    }
+
+    /**
+     * This method checks to see if the elements of a given collection are contained within the frozen set.
+     * @param collection collection to be checked for containment in this set.
+     * @return Returns true if all elements in collection is contained in the frozen set.
+     */
+    @Override
+    public boolean containsAll(Collection<?> collection) {
+        for(Object item : collection) {
+            if(!contains(item)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method copies the elements of the frozen set into a new array.
+     * @return Returns an array containing every element within the frozen set.
+     */
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOfRange(values, from, to, Object[].class);
+    }
+
+    /**
+     * This method copies the elements of the frozen set into the given array if it is big enough, otherwise into a
+     * new array of the same runtime type.
+     * @param array the array into which the elements of this set are to be stored, if it is big enough;
+     * otherwise, a new array of the same runtime type is allocated for this purpose.
+     * @return Returns an array containing every element within the frozen set.
+     * @param <T1> the method accepts generics types
+     */
+    @Override
+    public <T1> T1[] toArray(T1[] array) {
+        if(array.length < size()) {
+            return (T1[]) Arrays.copyOfRange(values, from, to, array.getClass());
+        }
+
+        System.arraycopy(values, from, array, 0, size());
+        if(array.length > size()) {
+            array[size()] = null;
+        }
+        return array;
+    }
+
+    /**
+     * This method compares the frozen set with another object. As required by the Set interface, the two are equal
+     * if the object is a set of the same size holding every element of the frozen set.
+     * @param object object to be compared with the frozen set.
+     * @return Returns true if the object is a set holding the same elements, otherwise returns false.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if(object == this) {
+            return true;
+        } else if(!(object instanceof Set)) {
+            return false;
+        }
+
+        Set<?> set = (Set<?>) object;
+        if(set.size() != size()) {
+            return false;
+        }
+
+        try {
+            return containsAll(set);
+        } catch(ClassCastException | NullPointerException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * This method returns the hash code of the frozen set, which is the sum of the hash codes of its elements as
+     * required by the Set interface.
+     * @return Returns the hash code of the frozen set.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+
+        for(int i = from; i < to; i++) {
+            hash += values[i].hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * This method returns the elements of the frozen set in ascending order, in the same format as the collections
+     * of the java.util package.
+     * @return Returns a string listing the elements of the frozen set.
+     */
+    @Override
+    public String toString() {
+        return Arrays.asList(values).subList(from, to).toString();
+    }
+
+    /**
+     * This method is unsupported since a frozen set is immutable.
+     * @param value element whose presence in this collection is to be ensured.
+     * @return Fails to return
+     * @throws UnsupportedOperationException as contracted
+     */
+    @Override
+    public boolean add(T value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method is unsupported since a frozen set is immutable.
+     * @param value object to be removed from this set, if present.
+     * @return Fails to return
+     * @throws UnsupportedOperationException as contracted
+     */
+    @Override
+    public boolean remove(Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method is unsupported since a frozen set is immutable.
+     * @param collection collection containing elements to be added to this set.
+     * @return Fails to return
+     * @throws UnsupportedOperationException as contracted
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> collection) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method is unsupported since a frozen set is immutable.
+     * @param collection collection containing elements to be retained in this set
+     * @return Fails to return
+     * @throws UnsupportedOperationException as contracted
+     */
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method is unsupported since a frozen set is immutable.
+     * @param collection collection containing elements to be removed from this set
+     * @return Fails to return
+     * @throws UnsupportedOperationException as contracted
+     */
+    @Override
+    public boolean removeAll(Collection<?> collection) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method is unsupported since a frozen set is immutable.
+     * @throws UnsupportedOperationException as contracted
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+}
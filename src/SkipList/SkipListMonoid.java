@@ -0,0 +1,96 @@
+package SkipList;
+
+import java.util.function.ToDoubleFunction;
+/**
+ * This interface describes how the AugmentedSkipListSet class summarizes a range of elements. Each element is turned
+ * into a summary through lift(), and the summaries of two neighboring ranges are merged through combine(). Since the
+ * skip list merges summaries in whichever grouping its levels happen to have, combine() must be associative and
+ * identity() must leave any summary unchanged.
+ * @param <T> type of the elements being summarized.
+ * @param <A> type of the summary.
+ */
+public interface SkipListMonoid <T, A> {
+    /**
+     * This method returns the summary of an empty range.
+     * @return Returns the identity summary.
+     */
+    A identity();
+
+    /**
+     * This method returns the summary of a range holding a single element.
+     * @param value element to be summarized.
+     * @return Returns the summary of the element.
+     */
+    A lift(T value);
+
+    /**
+     * This method merges the summaries of two neighboring ranges.
+     * @param left summary of the range holding the smaller elements.
+     * @param right summary of the range holding the larger elements.
+     * @return Returns the summary of both ranges together.
+     */
+    A combine(A left, A right);
+
+    /**
+     * This method creates a summary counting the number of elements in a range.
+     * @return Returns a monoid counting elements.
+     * @param <T> type of the elements being summarized.
+     */
+    static <T> SkipListMonoid<T, Long> count() {
+        return new SkipListMonoid<T, Long>() {
+            public Long identity() { return 0L; }
+            public Long lift(T value) { return 1L; }
+            public Long combine(Long left, Long right) { return left + right; }
+        };
+    }
+
+    /**
+     * This method creates a summary adding up a numeric value taken from each element in a range.
+     * @param function function returning the value to be added for an element.
+     * @return Returns a monoid adding up values.
+     * @param <T> type of the elements being summarized.
+     */
+    static <T> SkipListMonoid<T, Double> sum(ToDoubleFunction<? super T> function) {
+        return new SkipListMonoid<T, Double>() {
+            public Double identity() { return 0.0; }
+            public Double lift(T value) { return function.applyAsDouble(value); }
+            public Double combine(Double left, Double right) { return left + right; }
+        };
+    }
+
+    /**
+     * This method creates a summary keeping the smallest element of a range, where an empty range is summarized as
+     * null.
+     * @return Returns a monoid keeping the smallest element.
+     * @param <T> type of the elements being summarized.
+     */
+    static <T extends Comparable<T>> SkipListMonoid<T, T> min() {
+        return new SkipListMonoid<T, T>() {
+            public T identity() { return null; }
+            public T lift(T value) { return value; }
+            public T combine(T left, T right) {
+                if(left == null) return right;
+                if(right == null) return left;
+                return left.compareTo(right) <= 0 ? left : right;
+            }
+        };
+    }
+
+    /**
+     * This method creates a summary keeping the largest element of a range, where an empty range is summarized as
+     * null.
+     * @return Returns a monoid keeping the largest element.
+     * @param <T> type of the elements being summarized.
+     */
+    static <T extends Comparable<T>> SkipListMonoid<T, T> max() {
+        return new SkipListMonoid<T, T>() {
+            public T identity() { return null; }
+            public T lift(T value) { return value; }
+            public T combine(T left, T right) {
+                if(left == null) return right;
+                if(right == null) return left;
+                return left.compareTo(right) >= 0 ? left : right;
+            }
+        };
+    }
+}
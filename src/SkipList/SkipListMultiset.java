@@ -0,0 +1,266 @@
+package SkipList;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+/**
+ * This class implements a sorted multiset on top of the skip list set. Rather than storing one element per
+ * occurrence, each distinct value is stored once alongside the number of times it occurs. Adding or removing
+ * occurrences of a value therefore costs a single search() of the underlying skip list, no matter how many times the
+ * value occurs. Iterating over the multiset returns every occurrence in ascending order, while distinctIterator()
+ * returns each distinct value once.
+ * @param <T> accepts generics as parameters.
+ */
+public class SkipListMultiset <T extends Comparable<T>> extends AbstractCollection<T> {
+    private SkipListSet<Entry<T>> skipListSet;
+    private Entry<T> probe;
+    private long size;
+
+    /**
+     * This class pairs a distinct value of the multiset with its number of occurrences. Entries are compared through
+     * their value only, so that the skip list orders them the same way it would order the values themselves.
+     * @param <T> accepts generics as parameters.
+     */
+    private static class Entry <T extends Comparable<T>> implements Comparable<Entry<T>> {
+        private T value;
+        private int count;
+
+        private Entry(T value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        @Override
+        public int compareTo(Entry<T> entry) {
+            return value.compareTo(entry.value);
+        }
+    }
+
+    /** Default constructor to initialize an empty multiset. */
+    public SkipListMultiset() {
+        skipListSet = new SkipListSet<>();
+        probe = new Entry<>(null, 0);
+        size = 0;
+    }
+
+    /**
+     * This internal method calls search() on the underlying skip list for a given value. The same probe entry is
+     * reused for every lookup, so that searching the skip list does not allocate.
+     * @param value value whose entry is to be found.
+     * @return Returns the bottom element of the skip list holding the closest entry less than or equal to the value,
+     * or null if the multiset is empty.
+     */
+    private SkipListSetItem<Entry<T>> search(T value) {
+        if(skipListSet.isEmpty()) {
+            return null;
+        }
+
+        probe.value = value;
+        SkipListSetItem<Entry<T>> current = skipListSet.search(probe);
+        probe.value = null;
+
+        return current;
+    }
+
+    /**
+     * This internal method finds the entry of a given value.
+     * @param value value whose entry is to be found.
+     * @return Returns the bottom element of the skip list holding the entry of the value, or null if the value does
+     * not occur in the multiset.
+     */
+    private SkipListSetItem<Entry<T>> find(T value) {
+        SkipListSetItem<Entry<T>> current = search(value);
+        return current != null && current.getValue().value.compareTo(value) == 0 ? current : null;
+    }
+
+    /**
+     * This method adds one occurrence of the given value to the multiset.
+     * @param value value whose occurrence is to be added.
+     * @return Always returns true, since a multiset accepts duplicates.
+     */
+    @Override
+    public boolean add(T value) {
+        add(value, 1);
+        return true;
+    }
+
+    /**
+     * This method adds the given number of occurrences of a value to the multiset. If the value already occurs, its
+     * count is increased in place, otherwise a new entry is inserted after the element returned by search().
+     * @param value value whose occurrences are to be added.
+     * @param occurrences number of occurrences to be added.
+     * @return Returns the number of occurrences of the value before the operation.
+     * @throws IllegalArgumentException if occurrences is negative or the count would overflow.
+     */
+    public int add(T value, int occurrences) {
+        if(occurrences < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        SkipListSetItem<Entry<T>> current = search(value);
+
+        if(current != null && current.getValue().value.compareTo(value) == 0) {
+            Entry<T> entry = current.getValue();
+            int previous = entry.count;
+
+            if((long) previous + occurrences > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException();
+            }
+
+            entry.count += occurrences;
+            size += occurrences;
+            return previous;
+        }
+
+        if(occurrences > 0) {
+            Entry<T> entry = new Entry<>(value, occurrences);
+            if(current == null) {
+                skipListSet.add(entry);
+            } else {
+                skipListSet.insert(current, entry);
+            }
+            size += occurrences;
+        }
+        return 0;
+    }
+
+    /**
+     * This method returns the number of times a given value occurs within the multiset.
+     * @param value value whose occurrences are to be counted.
+     * @return Returns the number of occurrences of the value, or 0 if the value isn't in the multiset.
+     */
+    public int count(Object value) {
+        SkipListSetItem<Entry<T>> current = find((T) value);
+        return current == null ? 0 : current.getValue().count;
+    }
+
+    /**
+     * This method removes one occurrence of the given value from the multiset.
+     * @param value value whose occurrence is to be removed.
+     * @return Returns true if an occurrence was removed, otherwise returns false.
+     */
+    @Override
+    public boolean remove(Object value) {
+        return remove((T) value, 1) > 0;
+    }
+
+    /**
+     * This method removes up to the given number of occurrences of a value from the multiset. Once no occurrence of
+     * the value is left, its entry is unlinked from the skip list.
+     * @param value value whose occurrences are to be removed.
+     * @param occurrences number of occurrences to be removed.
+     * @return Returns the number of occurrences of the value before the operation.
+     * @throws IllegalArgumentException if occurrences is negative.
+     */
+    public int remove(T value, int occurrences) {
+        if(occurrences < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        SkipListSetItem<Entry<T>> current = find(value);
+        if(current == null) {
+            return 0;
+        }
+
+        Entry<T> entry = current.getValue();
+        int previous = entry.count;
+
+        if(occurrences >= previous) {
+            skipListSet.delete(current);
+            size -= previous;
+        } else {
+            entry.count -= occurrences;
+            size -= occurrences;
+        }
+        return previous;
+    }
+
+    /**
+     * This method checks to see if a given value occurs at least once within the multiset.
+     * @param value value whose presence in this multiset is to be tested.
+     * @return Returns true if the value occurs in the multiset, otherwise returns false.
+     */
+    @Override
+    public boolean contains(Object value) {
+        return find((T) value) != null;
+    }
+
+    /**
+     * Getter method to retrieve the total number of occurrences held by the multiset. If the multiset holds more than
+     * Integer.MAX_VALUE occurrences, Integer.MAX_VALUE is returned.
+     * @return Returns the number of occurrences within the multiset.
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Getter method to retrieve the number of distinct values held by the multiset.
+     * @return Returns the number of distinct values within the multiset.
+     */
+    public int distinctSize() {
+        return skipListSet.size();
+    }
+
+    /** This method is used to remove every occurrence of every value from the multiset. */
+    @Override
+    public void clear() {
+        skipListSet.clear();
+        size = 0;
+    }
+
+    /**
+     * This method returns an iterator over every occurrence of the multiset in ascending order, where a value is
+     * returned as many times as it occurs. The iterator does not support removal.
+     * @return Returns an iterator over all occurrences of the multiset.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<Entry<T>> entries = skipListSet.iterator();
+
+        return new Iterator<T>() {
+            private Entry<T> entry;
+            private int remaining;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0 || entries.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if(remaining == 0) {
+                    if(!entries.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    entry = entries.next();
+                    remaining = entry.count;
+                }
+                remaining--;
+                return entry.value;
+            }
+        };
+    }
+
+    /**
+     * This method returns an iterator over the distinct values of the multiset in ascending order. The iterator does
+     * not support removal.
+     * @return Returns an iterator over the distinct values of the multiset.
+     */
+    public Iterator<T> distinctIterator() {
+        Iterator<Entry<T>> entries = skipListSet.iterator();
+
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return entries.next().value;
+            }
+        };
+    }
+}
@@ -1,10 +1,13 @@
 package SkipList;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.SortedSet;
 import java.util.Random;
 import java.util.Iterator;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 /**
  * This class implements the skip list data structured using Java's sorted set interface. The list accepts
  * generic types as parameters by comparing each element and storing them in ascending order. Elements are
@@ -22,6 +25,15 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
     private Integer height;
     private Integer size;
     private Random random;
+    private boolean adaptive;
+    private long accessClock;
+    private boolean lazyDeletion;
+    private int tombstones;
+    private int lastLevelsTouched;
+
+    private static final int MIN_ACCESSES_TO_PROMOTE = 4;
+    private static final int MAX_RUN_LENGTH = 4;
+    private static final int MAX_TOMBSTONE_PERCENT = 50;
 
     /**
      * Default constructor to initialize a skip list. This constructor does not accept any parameters, however as we
@@ -29,7 +41,7 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      * The constructor also create an instance for the random variable.
      */
     public SkipListSet() {
-        head = new SkipListSetItem<>();
+        head = newItem(null);
         random = new Random(1);
         size = 0;
         head.setLevel(1);
@@ -43,7 +55,7 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      * @param collection collection whose value is to be stored in a skip list set.
      */
     public SkipListSet(Collection<? extends T> collection) {
-        head = new SkipListSetItem<>();
+        head = newItem(null);
         random = new Random(1);
         size = 0;
         head.setLevel(1);
@@ -69,7 +81,7 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      */
     @Override
     public T first() {
-        return bottomHead.getValue();
+        return liveFrom(bottomHead).getValue();
     }
 
     /**
@@ -78,7 +90,7 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      */
     @Override
     public T last() {
-        return bottomTail.getValue();
+        return liveBefore(bottomTail).getValue();
     }
 
     /**
@@ -89,13 +101,31 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
         return bottomHead;
     }
 
+    /**
+     * This method is used by the class SkipListSetCursor to retrieve the tail element of a skip list.
+     * @return Returns last element in the skip list.
+     */
+    public SkipListSetItem<T> getTail() {
+        return bottomTail;
+    }
+
+    /**
+     * This method creates and returns an instance of the SkipListSetCursor class, positioned before the first
+     * element of the skip list. Unlike the iterator, a cursor can be moved to any element through seek(), can step
+     * backward, and can retrieve many elements per call.
+     * @return Returns a new instance of the SkipListSetCursor class.
+     */
+    public SkipListSetCursor<T> cursor() {
+        return new SkipListSetCursor<>(this);
+    }
+
     /**
      * Getter method to retrieve the size of a skip list.
      * @return Returns the size (cardinality) of a skip list.
      */
     @Override
     public int size() {
-        return size;
+        return size - tombstones;
     }
 
     /**
@@ -104,7 +134,7 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      */
     @Override
     public boolean isEmpty() {
-        return size == 0;
+        return size() == 0;
     }
 
     /**
@@ -158,8 +188,330 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      */
     @Override
     public boolean contains(Object object) {
+        SkipListSetEvent.Contains event = new SkipListSetEvent.Contains();
+
+        event.begin();
+        boolean found = containsValue(object);
+        commit(event, (T) object, height);
+
+        return found;
+    }
+
+    /**
+     * This internal method performs the lookup of contains(), through searchAdaptive() in adaptive mode or search()
+     * otherwise.
+     * @param object element whose presence in this set is to be tested.
+     * @return Returns true if element is present in the set, otherwise returns false.
+     */
+    private boolean containsValue(Object object) {
+        if(isEmpty()) {
+            return false;
+        }
+
+        if(adaptive) {
+            SkipListSetItem<T> current = searchAdaptive((T) object);
+            if(current == null || (lazyDeletion && bottomOf(current).isDeleted())) {
+                return false;
+            }
+            recordAccess(current);
+            return true;
+        }
+
         SkipListSetItem<T> current = search((T) object);
-        return current.compareTo((T) object) == 0;
+        return current.compareTo((T) object) == 0 && !current.isDeleted();
+    }
+
+    /**
+     * This method turns the adaptive mode of a skip list on or off. In adaptive mode, contains() counts the lookups of
+     * each element. An element receiving a large share of the recent lookups has its tower raised one level at a
+     * time, so later lookups find it closer to the top of the list. Counts are halved every time the number of
+     * lookups reaches twice the size of the list, at which point elements that have cooled down lose the levels they
+     * were given. Towers built by add() are never lowered.
+     * @param adaptive true to track lookups and adjust tower heights, false to stop doing so.
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * This method is used to check if a skip list is in adaptive mode.
+     * @return Returns true if lookups adjust the tower heights of the skip list, otherwise returns false.
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * This internal method performs search operations in adaptive mode. Unlike search(), the descent stops as soon as
+     * an element equal to the given value is found, which is what makes promoted elements cheaper to find. Since the
+     * descent passes through every level, the element is always found at the top of its tower, which is where the
+     * lookup count of the element is kept.
+     * @param value element whose presence in this set is to be tested.
+     * @return Returns the top element of the tower holding the given value, or null if the value isn't in the list.
+     */
+    private SkipListSetItem<T> searchAdaptive(T value) {
+        SkipListSetItem<T> current = head;
+        int comparison;
+
+        while(current.getBelow() != null) {
+            current = current.getBelow();
+            while(current.getNext() != null && (comparison = current.getNext().compareTo(value)) <= 0) {
+                current = current.getNext();
+                if(comparison == 0) {
+                    return current;
+                }
+            }
+        }
+
+        return current.compareTo(value) == 0 ? current : null;
+    }
+
+    /**
+     * This internal method records a lookup of an element in adaptive mode. An element whose tower reaches level L is
+     * promoted to level L + 1 once its share of the recent lookups reaches 2^(L + 2 - height), meaning that the
+     * hottest elements end up just below the top of the head, and each level down holds elements found half as often.
+     * @param top top element of the tower that was found by contains().
+     */
+    private void recordAccess(SkipListSetItem<T> top) {
+        accessClock++;
+
+        if(top.getPrevious() != null) {
+            AdaptiveItem<T> counted = counted(top);
+            counted.accessCount++;
+
+            int level = counted.getLevel();
+            if(counted.accessCount >= MIN_ACCESSES_TO_PROMOTE && level <= height - 2
+                    && ((long) counted.accessCount << (height - 2 - level)) >= accessClock) {
+                promote(counted);
+                ((AdaptiveItem<T>) counted.getAbove()).promotions = counted.promotions + 1;
+            }
+        }
+
+        if(accessClock >= Math.max(2L * size, 1024L)) {
+            decayAccesses();
+        }
+    }
+
+    /**
+     * This internal method returns the top element of a tower as one able to hold lookup counts. Elements created
+     * before adaptive mode was turned on can't hold them, so such an element is replaced on its level by a copy that
+     * can, which is then linked to the same neighbors as the original.
+     * @param top top element of a tower other than the head.
+     * @return Returns the top element of the tower, able to hold lookup counts.
+     */
+    private AdaptiveItem<T> counted(SkipListSetItem<T> top) {
+        if(top instanceof AdaptiveItem) {
+            return (AdaptiveItem<T>) top;
+        }
+
+        AdaptiveItem<T> counted = new AdaptiveItem<>(top.getValue());
+        counted.setLevel(top.getLevel());
+        counted.setDeleted(top.isDeleted());
+        counted.setPrevious(top.getPrevious());
+        counted.setNext(top.getNext());
+        counted.setBelow(top.getBelow());
+
+        top.getPrevious().setNext(counted);
+        if(top.getNext() != null) {
+            top.getNext().setPrevious(counted);
+        }
+        if(top.getBelow() != null) {
+            top.getBelow().setAbove(counted);
+        }
+        if(top == bottomTail) {
+            bottomTail = counted;
+        }
+
+        return counted;
+    }
+
+    /**
+     * This internal method raises the tower of an element by one level in adaptive mode. Hot elements are often
+     * neighbors, and promoting all of them would leave long runs of elements on the same level that every search has
+     * to walk through. Whenever the promotion creates a run longer than MAX_RUN_LENGTH, the middle element of the
+     * run is promoted as well, in the same way a full node is split in a B-tree.
+     * @param top highest element of the tower to be raised.
+     */
+    private void promote(SkipListSetItem<T> top) {
+        SkipListSetItem<T> current = top;
+
+        do {
+            addNewLevel(current, 1);
+            if(current instanceof AdaptiveItem) {
+                ((AdaptiveItem<T>) current.getAbove()).accessCount = ((AdaptiveItem<T>) current).accessCount;
+                ((AdaptiveItem<T>) current.getAbove()).promotions = ((AdaptiveItem<T>) current).promotions;
+            }
+            current = current.getAbove();
+
+            if(runLength(current) <= MAX_RUN_LENGTH) {
+                return ;
+            }
+
+            while(current.getPrevious() != null && current.getPrevious().getAbove() == null) {
+                current = current.getPrevious();
+            }
+            for(int i = 0; i < MAX_RUN_LENGTH / 2; i++) {
+                current = current.getNext();
+            }
+        } while(true);
+    }
+
+    /**
+     * This internal method counts the run of elements around a given element that have no element above them, up to
+     * MAX_RUN_LENGTH + 1. A search moving through this level has to walk the whole run before moving down.
+     * @param current element whose run is to be measured, whether or not it has an element above it.
+     * @return Returns the number of elements in the run, including the given element.
+     */
+    private int runLength(SkipListSetItem<T> current) {
+        int count = 1;
+
+        for(SkipListSetItem<T> node = current.getPrevious(); node != null && node.getAbove() == null
+                && count <= MAX_RUN_LENGTH; node = node.getPrevious()) {
+            count++;
+        }
+        for(SkipListSetItem<T> node = current.getNext(); node != null && node.getAbove() == null
+                && count <= MAX_RUN_LENGTH; node = node.getNext()) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * This internal method ages the lookup counts of adaptive mode. Each count is halved in a single pass over the
+     * bottom level, and an element that was promoted loses its top level once its share of the lookups falls below
+     * half of what that level requires. Since the pass happens once every 2 * size lookups, its cost is constant per
+     * lookup.
+     */
+    private void decayAccesses() {
+        SkipListSetItem<T> current = bottomHead;
+        SkipListSetItem<T> top;
+
+        accessClock >>= 1;
+
+        while(current != null) {
+            top = current;
+            while(top.getAbove() != null) {
+                top = top.getAbove();
+            }
+
+            if(top instanceof AdaptiveItem) {
+                AdaptiveItem<T> counted = (AdaptiveItem<T>) top;
+                counted.accessCount >>= 1;
+
+                if(counted.promotions > 0 && runLength(top.getBelow()) <= MAX_RUN_LENGTH
+                        && ((long) counted.accessCount << (height - 1 - top.getLevel())) * 2 < accessClock) {
+                    SkipListSetItem<T> below = top.getBelow();
+                    deleteSingleNode(top);
+
+                    AdaptiveItem<T> demoted = counted(below);
+                    demoted.accessCount = counted.accessCount;
+                    demoted.promotions = counted.promotions - 1;
+                }
+            }
+
+            current = current.getNext();
+        }
+    }
+
+    /**
+     * This method turns the lazy deletion mode of a skip list on or off. In lazy deletion mode, remove() only marks
+     * the element it finds as a tombstone, which costs a single search() no matter how tall its tower is or whether it
+     * is the head. Lookups, iterators and cursors skip tombstones, and add() revives a tombstone holding the same
+     * value. Once tombstones make up half of the elements, compact() unlinks all of them in one pass over the list.
+     * Turning the mode off compacts the list right away.
+     * @param lazyDeletion true to leave removed elements in place until the next compaction, false to unlink them
+     * immediately.
+     */
+    public void setLazyDeletion(boolean lazyDeletion) {
+        this.lazyDeletion = lazyDeletion;
+        if(!lazyDeletion) {
+            compact();
+        }
+    }
+
+    /**
+     * This method is used to check if a skip list is in lazy deletion mode.
+     * @return Returns true if remove() leaves tombstones behind, otherwise returns false.
+     */
+    public boolean isLazyDeletion() {
+        return lazyDeletion;
+    }
+
+    /**
+     * This method unlinks every tombstone left by remove() in lazy deletion mode, walking the bottom level once and
+     * unlinking the tower of each tombstone on every level it reaches. When the head is a tombstone, it is removed
+     * last, so that the value moved into it by delete() is a live one. Callers may run it whenever it suits them,
+     * such as between bursts of removals, rather than waiting for the tombstones to reach half of the list.
+     */
+    public void compact() {
+        if(tombstones == 0) {
+            return ;
+        }
+
+        SkipListSetItem<T> current = bottomHead.getNext();
+
+        while(current != null) {
+            SkipListSetItem<T> next = current.getNext();
+
+            if(current.isDeleted()) {
+                if(current == bottomTail) {
+                    bottomTail = current.getPrevious();
+                }
+                for(SkipListSetItem<T> node = current; node != null; node = node.getAbove()) {
+                    node.getPrevious().setNext(node.getNext());
+                    if(node.getNext() != null) {
+                        node.getNext().setPrevious(node.getPrevious());
+                    }
+                }
+                size--;
+            }
+
+            current = next;
+        }
+
+        tombstones = 0;
+        if(bottomHead.isDeleted()) {
+            delete(bottomHead);
+        }
+    }
+
+    /**
+     * This internal method returns the first live element starting from a given bottom element, skipping the
+     * tombstones left in lazy deletion mode.
+     * @param current bottom element to start from, which may be null.
+     * @return Returns the given element or the closest live element after it, or null if there is none.
+     */
+    static <T extends Comparable<T>> SkipListSetItem<T> liveFrom(SkipListSetItem<T> current) {
+        while(current != null && current.isDeleted()) {
+            current = current.getNext();
+        }
+        return current;
+    }
+
+    /**
+     * This internal method returns the last live element ending at a given bottom element, skipping the tombstones
+     * left in lazy deletion mode.
+     * @param current bottom element to start from, which may be null.
+     * @return Returns the given element or the closest live element before it, or null if there is none.
+     */
+    static <T extends Comparable<T>> SkipListSetItem<T> liveBefore(SkipListSetItem<T> current) {
+        while(current != null && current.isDeleted()) {
+            current = current.getPrevious();
+        }
+        return current;
+    }
+
+    /**
+     * This internal method returns the bottom element of the tower holding a given element.
+     * @param current element whose tower is to be followed down.
+     * @return Returns the element of the tower on the bottom level of the skip list.
+     */
+    private SkipListSetItem<T> bottomOf(SkipListSetItem<T> current) {
+        while(current.getBelow() != null) {
+            current = current.getBelow();
+        }
+        return current;
     }
 
     /**
@@ -178,26 +530,147 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
         return true;
     }
 
+    /**
+     * This method checks a batch of values for containment in parallel, using the workers of the given pool. The
+     * elements of an upper level split the batch into ranges of values, and each range is sorted and resolved by its
+     * own task through finger searches, so that neighboring values share most of their search path. The skip list must
+     * not be modified until the method returns.
+     * @param values values whose presence in this set is to be tested.
+     * @param pool pool whose workers perform the lookups.
+     * @return Returns an array holding, at the index of each value, true if it is present in the set.
+     */
+    public boolean[] containsEach(List<? extends T> values, ForkJoinPool pool) {
+        if(isEmpty()) {
+            return new boolean[values.size()];
+        }
+
+        return new SkipListSetBatchLookup<>(values.toArray(), splitPoints(pool.getParallelism() * 4)).run(pool);
+    }
+
+    /**
+     * This method checks a batch of values for containment in parallel, using the common pool.
+     * @param values values whose presence in this set is to be tested.
+     * @return Returns an array holding, at the index of each value, true if it is present in the set.
+     */
+    public boolean[] containsEach(List<? extends T> values) {
+        return containsEach(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * This method checks to see if every element of a collection is contained within the skip list, performing the
+     * lookups in parallel in the same way as containsEach().
+     * @param collection collection to be checked for containment in this set.
+     * @param pool pool whose workers perform the lookups.
+     * @return Returns true if all elements in collection is contained in the skip list.
+     */
+    public boolean containsAll(Collection<?> collection, ForkJoinPool pool) {
+        if(collection.isEmpty()) {
+            return true;
+        } else if(isEmpty()) {
+            return false;
+        }
+
+        boolean[] found = new SkipListSetBatchLookup<T>(collection.toArray(), splitPoints(pool.getParallelism() * 4))
+                .run(pool);
+        for(boolean value : found) {
+            if(!value) return false;
+        }
+        return true;
+    }
+
+    /**
+     * This internal method picks the elements splitting a batch of lookups into ranges. Starting from the top, it moves
+     * down one level at a time until it reaches a level holding at least the given number of elements, and returns the
+     * bottom element of each tower on that level. The first element returned is always the head.
+     * @param target number of ranges wanted.
+     * @return Returns the bottom elements of the towers on the chosen level, in ascending order.
+     */
+    private ArrayList<SkipListSetItem<T>> splitPoints(int target) {
+        ArrayList<SkipListSetItem<T>> splits = new ArrayList<>();
+        SkipListSetItem<T> levelHead = head;
+        SkipListSetItem<T> current;
+        int count;
+
+        do {
+            count = 0;
+            for(current = levelHead; current != null && count < target; current = current.getNext()) {
+                count++;
+            }
+            if(count >= target || levelHead.getBelow() == null) {
+                break;
+            }
+            levelHead = levelHead.getBelow();
+        } while(true);
+
+        for(current = levelHead; current != null; current = current.getNext()) {
+            SkipListSetItem<T> bottom = current;
+            while(bottom.getBelow() != null) {
+                bottom = bottom.getBelow();
+            }
+            splits.add(bottom);
+        }
+
+        return splits;
+    }
+
     /** This method is used to clear the skip list. Each value is reset to its original state. */
     @Override
     public void clear() {
-        head = new SkipListSetItem<>();
+        SkipListSetEvent.Clear event = new SkipListSetEvent.Clear();
+
+        event.begin();
+        event.elements = size();
+        reset();
+
+        System.gc();
+        commit(event, null, 0);
+    }
+
+    /**
+     * This class adds the lookup count of adaptive mode to an element, along with the number of levels its tower was
+     * raised by. Only the top element of a tower uses them. Elements are only created with these counts while the skip
+     * list is in adaptive mode, so that a skip list that never turns it on doesn't pay for them.
+     * @param <T> accepts generics as parameters.
+     */
+    private static class AdaptiveItem <T extends Comparable<T>> extends SkipListSetItem<T> {
+        private int accessCount;
+        private int promotions;
+
+        private AdaptiveItem(T value) {
+            super(value);
+        }
+    }
+
+    /**
+     * This internal method creates every element of the skip list, including those of the head. Subclasses within the
+     * SkipList package override it when their elements need to carry more than the value and its neighbors.
+     * @param value value to be stored in the element.
+     * @return Returns a new element on the bottom level, holding the given value.
+     */
+    SkipListSetItem<T> newItem(T value) {
+        return adaptive ? new AdaptiveItem<>(value) : new SkipListSetItem<>(value);
+    }
+
+    /** This internal method resets the skip list to its empty state, leaving a single head element behind. */
+    private void reset() {
+        head = newItem(null);
         size = 0;
         head.setLevel(1);
         height = 1;
         bottomHead = head;
-
-        System.gc();
+        bottomTail = null;
+        tombstones = 0;
     }
 
     /**
      * This method perform search operations. Given a specified value, search() attempts to find the closet value
-     * less than or equal to the given object. It's important to note that this is an internal method, meaning
-     * that it isn't accessible beyond the scope of the SkipListSet class.
+     * less than or equal to the given object. If every element is greater than the given value, the head element is
+     * returned. It's important to note that this is an internal method, meaning that it isn't accessible beyond the
+     * scope of the SkipList package.
      * @param value element whose presence in this set is to be tested.
      * @return Returns the location of the closest element to the given value.
      */
-    private SkipListSetItem<T> search(T value) {
+    SkipListSetItem<T> search(T value) {
         SkipListSetItem<T> current = head;
 
         while(current.getBelow() != null) {
@@ -218,9 +691,15 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      */
     @Override
     public boolean addAll(Collection<? extends T> collection) {
+        SkipListSetEvent.AddAll event = new SkipListSetEvent.AddAll();
+
+        event.begin();
         for(T item : collection) {
             add(item);
         }
+        event.elements = collection.size();
+        commit(event, null, 0);
+
         return true;
     }
 
@@ -240,27 +719,26 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
 
     /**
      * This method is used to retain similar elements between a collection and a skip list. All the elements that are
-     * present in the skip list but aren't present in the collection are removed.
+     * present in the skip list but aren't present in the collection are removed. Since the retained elements are
+     * already sorted, the skip list is rebuilt from them through bulkLoad(), which creates its elements through
+     * newItem() like any other operation.
      * @param collection collection containing elements to be retained in this set
      * @return Always returns true after completion of the retaining operations.
      */
     @Override
     public boolean retainAll(Collection<?> collection) {
-        SkipListSetItem<T> current = bottomHead;
-        SkipListSet<T> newSkipList = new SkipListSet<>();
+        SkipListSetItem<T> current = liveFrom(bottomHead);
+        T[] values = (T[]) new Comparable[size()];
+        int count = 0;
 
-        for(int i = 0; i < size; i++) {
+        for(int i = 0; i < values.length; i++) {
             if(collection.contains(current.getValue())) {
-                newSkipList.add(current.getValue());
+                values[count++] = current.getValue();
             }
+            current = liveFrom(current.getNext());
         }
 
-        head = newSkipList.head;
-        bottomHead = newSkipList.bottomHead;
-        size = newSkipList.size;
-        bottomTail = newSkipList.bottomTail;
-        random = newSkipList.random;
-        height = newSkipList.height;
+        bulkLoad(values, 0, count);
 
         System.gc();
 
@@ -274,12 +752,12 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      */
     @Override
     public Object[] toArray() {
-        Object[] object = new Object[size];
-        SkipListSetItem<T> current = bottomHead;
+        Object[] object = new Object[size()];
+        SkipListSetItem<T> current = liveFrom(bottomHead);
 
-        for(int i = 0; i < size; i++) {
+        for(int i = 0; i < object.length; i++) {
             object[i] = current.getValue();
-            current = current.getNext();
+            current = liveFrom(current.getNext());
         }
 
         return object;
@@ -299,50 +777,135 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
             add((T) value);
         }
 
-        T1[] newArray = (T1[]) new Object[size];
-        SkipListSetItem<T> current = bottomHead;
+        T1[] newArray = (T1[]) new Object[size()];
+        SkipListSetItem<T> current = liveFrom(bottomHead);
 
-        for(int i = 0; i < size; i++) {
+        for(int i = 0; i < newArray.length; i++) {
             newArray[i] = (T1) current.getValue();
-            current = current.getNext();
+            current = liveFrom(current.getNext());
         }
 
         return newArray;
     }
 
+    /**
+     * This method copies every element of a skip list, in ascending order, into an immutable FrozenSkipListSet. The
+     * frozen set keeps its elements in a single contiguous array, which removes the four neighbor references each
+     * SkipListSetItem carries and replaces the descent of search() with a binary search over the array. Later changes
+     * to this skip list are not reflected in the frozen set.
+     * @return Returns an immutable, read-optimized copy of the skip list.
+     */
+    public FrozenSkipListSet<T> freeze() {
+        T[] values = (T[]) new Comparable[size()];
+        SkipListSetItem<T> current = liveFrom(bottomHead);
+
+        for(int i = 0; i < values.length; i++) {
+            values[i] = current.getValue();
+            current = liveFrom(current.getNext());
+        }
+
+        return new FrozenSkipListSet<>(values);
+    }
+
+    /**
+     * This internal method rebuilds the skip list from an array of values that are already sorted in ascending order
+     * and free of duplicates. Rather than calling add() for each value, every element is appended to the end of each
+     * level it reaches, which builds the whole list in linear time. Element heights are drawn the same way add() does.
+     * @param values array holding the sorted values to be stored in the skip list.
+     * @param from index of the first value to be stored (inclusive).
+     * @param to index of the last value to be stored (exclusive).
+     */
+    void bulkLoad(T[] values, int from, int to) {
+        ArrayList<SkipListSetItem<T>> tails = new ArrayList<>();
+        SkipListSetItem<T> newNode;
+        SkipListSetItem<T> bellow;
+
+        reset();
+        if(from >= to) {
+            return ;
+        }
+
+        add(values[from]);
+        tails.add(bottomHead);
+        tails.add(head);
+
+        for(int i = from + 1; i < to; i++) {
+            int numLevel = 1;
+
+            while(random.nextBoolean()) {
+                numLevel++;
+            }
+
+            while(numLevel >= height) {
+                head.setAbove(newItem(head.getValue()));
+                head.getAbove().setBelow(head);
+                head.getAbove().setLevel(head.getLevel() + 1);
+                head = head.getAbove();
+                tails.add(head);
+                height++;
+            }
+
+            bellow = null;
+            for(int level = 1; level <= numLevel; level++) {
+                newNode = newItem(values[i]);
+                newNode.setLevel(level);
+                newNode.setBelow(bellow);
+                if(bellow != null) {
+                    bellow.setAbove(newNode);
+                }
+                newNode.setPrevious(tails.get(level - 1));
+                tails.get(level - 1).setNext(newNode);
+                tails.set(level - 1, newNode);
+                bellow = newNode;
+            }
+
+            size++;
+        }
+
+        bottomTail = tails.get(0);
+    }
+
     /**
      * This internal method is used to change the head element of a skip list. In the case where a given value is
-     * less than the head, changeHead() is called and through it, the head of the skip list is updated.
+     * less than the head, changeHead() is called and through it, the head of the skip list is updated. The old head
+     * value is moved into its own element right after the head, which is present numLevelToAdd + 1 times in the list.
      * @param headValue value to be added before the head.
-     * @param numLevelToAdd numbers of times the current head will be present in the list.
+     * @param numLevelToAdd numbers of times the old head will be present above the bottom level of the list.
      */
     private void changeHead(T headValue, int numLevelToAdd) {
         T newValue = head.getValue();
         SkipListSetItem<T> currentHead = bottomHead;
         SkipListSetItem<T> newNode;
         SkipListSetItem<T> bellow = null;
-
-        if(numLevelToAdd == height) {
-            numLevelToAdd--;
-        }
+        int numLevel = Math.min(numLevelToAdd + 1, height - 1);
 
         /* Updates value of our current head and new node */
         while(currentHead != null) {
-            if(numLevelToAdd != 0) {
-                newNode = new SkipListSetItem<>(newValue);
+            if(numLevel != 0) {
+                newNode = newItem(newValue);
                 newNode.setLevel(currentHead.getLevel());
                 newNode.setBelow(bellow);
                 newNode.setPrevious(currentHead);
                 newNode.setNext(currentHead.getNext());
 
+                if(bellow != null) {
+                    bellow.setAbove(newNode);
+                }
+
                 if(currentHead.getNext() != null) {
                     currentHead.getNext().setPrevious(newNode);
+                } else if(currentHead == bottomHead) {
+                    bottomTail = newNode;
+                }
+
+                if(currentHead == bottomHead) {
+                    newNode.setDeleted(currentHead.isDeleted());
+                    currentHead.setDeleted(false);
                 }
 
                 currentHead.setNext(newNode);
                 bellow = newNode;
-                newNode = newNode.getAbove();
-                numLevelToAdd--;
+                numLevel--;
             }
 
             currentHead.setValue(headValue);
@@ -363,11 +926,11 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
         }
 
         for(int i = 0; i < numLevelToAdd; i++) {
-            newNode.setAbove(new SkipListSetItem<>(newNode.getValue()));
+            newNode.setAbove(newItem(newNode.getValue()));
             newNode.getAbove().setLevel(newNode.getLevel() + 1);
             newNode.getAbove().setBelow(newNode);
             if(height == newNode.getLevel() + 1) {
-                head.setAbove(new SkipListSetItem<>(head.getValue()));
+                head.setAbove(newItem(head.getValue()));
                 head.getAbove().setBelow(head);
                 head.getAbove().setLevel(head.getLevel() + 1);
                 head = head.getAbove();
@@ -396,8 +959,25 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      */
     @Override
     public boolean add(T value) {
+        SkipListSetEvent.Add event = new SkipListSetEvent.Add();
+
+        event.begin();
+        boolean added = insert(search(value), value);
+        commit(event, value, added ? lastLevelsTouched : 0);
+
+        return added;
+    }
+
+    /**
+     * This internal method performs the add operation once search() has been called, inserting the given value right
+     * after the element it returned. Callers within the SkipList package use it to inspect the result of search()
+     * before deciding to insert, without descending the list a second time.
+     * @param current element returned by search() for the given value.
+     * @param value element whose presence in this collection is to be ensured.
+     * @return Returns true if value is successfully added to the skip list, and false if value is already in the list.
+     */
+    boolean insert(SkipListSetItem<T> current, T value) {
         SkipListSetItem<T> newNode = null;
-        SkipListSetItem<T> current = search(value);
 
         int numLevelToAdd = 0;
 
@@ -405,25 +985,37 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
             numLevelToAdd++;
         }
 
-        if(isEmpty()) {
+        if(size == 0) {
             head.setValue(value);
-            head.setAbove(new SkipListSetItem<>(value));
+            bottomTail = head;
+            head.setAbove(newItem(value));
             head.getAbove().setBelow(head);
             head.getAbove().setLevel(head.getLevel() + 1);
             head = head.getAbove();
             size++;
             height++;
+            lastLevelsTouched = height;
             return true;
         }
 
         if(current.compareTo(value) == 0) {
-            return false;
+            if(!current.isDeleted()) {
+                return false;
+            }
+            current.setDeleted(false);
+            tombstones--;
+            lastLevelsTouched = 1;
+            for(; current != null; current = current.getAbove()) {
+                current.setValue(value);
+            }
+            return true;
 
         } else if(current.compareTo(head.getValue()) == 0 && current.compareTo(value) > 0) {
             changeHead(value, numLevelToAdd);
+            lastLevelsTouched = height;
 
         } else {
-            newNode = new SkipListSetItem<>(value);
+            newNode = newItem(value);
             newNode.setPrevious(current);
             newNode.setNext(current.getNext());
             if(current.getNext() != null) {
@@ -433,6 +1025,7 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
             }
             current.setNext(newNode);
             addNewLevel(newNode, numLevelToAdd);
+            lastLevelsTouched = numLevelToAdd + 1;
         }
 
         size++;
@@ -447,24 +1040,272 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      */
     @Override
     public boolean remove(Object value) {
-        SkipListSetItem<T> current = search((T) value);
+        SkipListSetEvent.Remove event = new SkipListSetEvent.Remove();
+
+        event.begin();
+        boolean removed = removeValue((T) value);
+        commit(event, (T) value, removed ? lastLevelsTouched : 0);
 
-        if(current.compareTo((T) value) != 0) {
+        return removed;
+    }
+
+    /**
+     * This internal method performs the remove operation of remove(), either unlinking the element or, in lazy
+     * deletion mode, marking it as a tombstone.
+     * @param value object to be removed from this set, if present.
+     * @return Returns true if element is successfully removed, otherwise returns false.
+     */
+    private boolean removeValue(T value) {
+        SkipListSetItem<T> current = search(value);
+
+        if(isEmpty() || current.compareTo(value) != 0 || current.isDeleted()) {
             return false;
+        }
+
+        if(lazyDeletion) {
+            current.setDeleted(true);
+            tombstones++;
+            lastLevelsTouched = 1;
+            if(tombstones == size) {
+                reset();
+            } else if(tombstones * 100L > size * (long) MAX_TOMBSTONE_PERCENT) {
+                compact();
+            }
+            return true;
+        }
+
+        delete(current);
+        return true;
+    }
+
+    /**
+     * This method removes every element greater than or equal to fromElement and less than toElement. Rather than
+     * removing the elements one by one, the method descends the skip list twice to find the last element before each
+     * endpoint on every level, then unlinks the whole segment between them on every level at once. The removed
+     * elements are counted through a walk of the bottom level.
+     * @param fromElement low endpoint (inclusive) of the range to be removed.
+     * @param toElement high endpoint (exclusive) of the range to be removed.
+     * @return Returns the number of elements removed from the skip list.
+     */
+    public int removeRange(T fromElement, T toElement) {
+        if(isEmpty() || fromElement.compareTo(toElement) >= 0) {
+            return 0;
+        }
+
+        SkipListSetItem<T>[] before = lastBefore(fromElement);
+        SkipListSetItem<T>[] until = lastBefore(toElement);
+        boolean removeHead = head.compareTo(fromElement) >= 0 && head.compareTo(toElement) < 0;
+        int removed = 0;
+        int dead = 0;
 
-        } else if(current.compareTo(head.getValue()) == 0) {
+        if(removeHead && until[1] == bottomTail) {
+            removed = size();
+            reset();
+            return removed;
+        }
+
+        for(SkipListSetItem<T> current = before[1]; current != until[1]; current = current.getNext()) {
+            removed++;
+            if(current.getNext().isDeleted()) {
+                dead++;
+            }
+        }
+
+        for(int level = 1; level <= height; level++) {
+            if(before[level] != until[level]) {
+                before[level].setNext(until[level].getNext());
+                if(until[level].getNext() != null) {
+                    until[level].getNext().setPrevious(before[level]);
+                }
+            }
+        }
+
+        if(until[1] == bottomTail) {
+            bottomTail = before[1];
+        }
+
+        size -= removed;
+        tombstones -= dead;
+        removed -= dead;
+
+        if(removeHead) {
+            if(bottomHead.isDeleted()) {
+                tombstones--;
+            } else {
+                removed++;
+            }
+            delete(bottomHead);
+        }
+
+        return removed;
+    }
+
+    /**
+     * This method removes every element less than toElement, such as expired entries at the front of a time window.
+     * @param toElement high endpoint (exclusive) of the elements to be removed.
+     * @return Returns the number of elements removed from the skip list.
+     */
+    public int removeHeadUntil(T toElement) {
+        return isEmpty() ? 0 : removeRange(first(), toElement);
+    }
+
+    /**
+     * This internal method descends the skip list, recording on each level the last element less than the given
+     * value. Elements of the head are recorded when no other element of their level is less than the value.
+     * @param value value whose preceding elements are to be found.
+     * @return Returns an array holding, at the index of each level, the last element of that level before the value.
+     */
+    private SkipListSetItem<T>[] lastBefore(T value) {
+        SkipListSetItem<T>[] before = new SkipListSetItem[height + 1];
+        SkipListSetItem<T> current = head;
+
+        while(current != null) {
+            while(current.getNext() != null && current.getNext().compareTo(value) < 0) {
+                current = current.getNext();
+            }
+            before[current.getLevel()] = current;
+            current = current.getBelow();
+        }
+
+        return before;
+    }
+
+    /**
+     * This method estimates the number of elements greater than or equal to fromElement and less than toElement from
+     * the upper levels of the skip list. Since add() raises each element to level L with probability 1 / 2^(L - 1),
+     * every element found on level L stands for about 2^(L - 1) elements of the bottom level. Starting from the top,
+     * the method counts the elements of the range on one level after the other, and stops at the first level holding
+     * at least precision of them, so its cost grows with precision rather than with the size of the range. The
+     * relative error of the estimate is about 1 / sqrt(precision), and the count is exact once the bottom level is
+     * reached. Towers built by reBalance() or raised in adaptive mode no longer follow these probabilities, which
+     * skews the estimate.
+     * @param fromElement low endpoint (inclusive) of the range.
+     * @param toElement high endpoint (exclusive) of the range.
+     * @param precision number of elements of the range to be counted on the level used for the estimate.
+     * @return Returns the estimated number of elements within the range.
+     */
+    public long estimateCount(T fromElement, T toElement, int precision) {
+        if(isEmpty() || fromElement.compareTo(toElement) >= 0) {
+            return 0;
+        }
+
+        SkipListSetItem<T>[] before = lastBefore(fromElement);
+        long headCount = head.compareTo(fromElement) >= 0 && head.compareTo(toElement) < 0 ? 1 : 0;
+        long count = 0;
+        int level;
+
+        for(level = height - 1; level >= 1; level--) {
+            count = 0;
+            for(SkipListSetItem<T> current = before[level].getNext(); current != null
+                    && current.compareTo(toElement) < 0; current = current.getNext()) {
+                if(level > 1 || !current.isDeleted()) {
+                    count++;
+                }
+            }
+            if(count >= precision) {
+                break;
+            }
+        }
+
+        if(level <= 1) {
+            return count + (headCount == 1 && !bottomHead.isDeleted() ? 1 : 0);
+        }
+
+        long estimate = (count << (level - 1)) + headCount;
+        if(tombstones > 0) {
+            estimate = estimate * size() / size;
+        }
+        return Math.min(estimate, size());
+    }
+
+    /**
+     * This method picks representative elements of the skip list, such as split points for partitioning it, without
+     * walking the bottom level. Starting from the top, it finds the first level holding at least count elements, then
+     * takes count of them at even intervals. Since the elements of each level are a random subset of the list, each
+     * element returned splits the list at about the same rank an exact quantile would, within about
+     * size / sqrt(count) positions. The cost grows with count rather than with the size of the list. Towers built by
+     * reBalance() or raised in adaptive mode skew the sample.
+     * @param count number of elements to be returned.
+     * @return Returns up to count elements of the skip list in ascending order, or every element if count is at
+     * least the size of the list.
+     */
+    public ArrayList<T> sample(int count) {
+        ArrayList<T> samples = new ArrayList<>();
+
+        if(count <= 0 || isEmpty()) {
+            return samples;
+        } else if(count >= size()) {
+            for(SkipListSetItem<T> current = liveFrom(bottomHead); current != null;
+                    current = liveFrom(current.getNext())) {
+                samples.add(current.getValue());
+            }
+            return samples;
+        }
+
+        SkipListSetItem<T> levelHead = head;
+        int length;
+
+        do {
+            levelHead = levelHead.getBelow();
+            length = 0;
+            for(SkipListSetItem<T> current = levelHead; current != null; current = current.getNext()) {
+                length++;
+            }
+        } while(length < count && levelHead.getBelow() != null);
+
+        SkipListSetItem<T> current = levelHead;
+        int position = 0;
+
+        for(int i = 0; i < count && current != null; i++) {
+            int target = (int) ((long) i * length / count);
+            for(; position < target; position++) {
+                current = current.getNext();
+            }
+            if(tombstones == 0 || !bottomOf(current).isDeleted()) {
+                samples.add(current.getValue());
+            }
+        }
+
+        return samples;
+    }
+
+    /**
+     * This internal method performs the remove operation once search() has found the element to be removed, unlinking
+     * it from every level of the skip list. When the head is removed, the value of the next element is moved into the
+     * head instead.
+     * @param current bottom element of the skip list to be removed.
+     */
+    void delete(SkipListSetItem<T> current) {
+        if(size == 1) {
+            reset();
+            lastLevelsTouched = 1;
+            return ;
+
+        } else if(current == bottomHead) {
             SkipListSetItem<T> next = current.getNext();
 
+            lastLevelsTouched = height;
+
+            if(next == bottomTail) {
+                bottomTail = current;
+            }
+            current.setDeleted(next.isDeleted());
+
             while(current != null) {
                 current.setValue(next.getValue());
                 if(current.getNext() != null && current.getNext().compareTo(next.getValue()) == 0) {
                     current.setNext(current.getNext().getNext());
-                    current.getNext().setPrevious(current);
+                    if(current.getNext() != null) {
+                        current.getNext().setPrevious(current);
+                    }
                 }
                 current = current.getAbove();
             }
 
-        } else while(current != null) {
+        } else for(lastLevelsTouched = 0; current != null; lastLevelsTouched++) {
+            if(current == bottomTail) {
+                bottomTail = current.getPrevious();
+            }
             current.getPrevious().setNext(current.getNext());
             if(current.getNext() != null) {
                 current.getNext().setPrevious(current.getPrevious());
@@ -473,7 +1314,6 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
         }
 
         size--;
-        return true;
     }
 
     /**
@@ -499,25 +1339,32 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
      * note that this method does not achieve this successfully.
      */
     public void reBalance() {
-        int levelValue, nodePosition = 0;
-        int maxLevel = (int) (Math.log(size) / Math.log(2));
+        SkipListSetEvent.ReBalance event = new SkipListSetEvent.ReBalance();
 
-        SkipListSetItem<T> current = bottomHead;
+        event.begin();
+        compact();
+
+        int levelValue, nodePosition = 1;
+        int maxLevel = Math.max((int) (Math.log(size) / Math.log(2)), 2);
+
+        SkipListSetItem<T> current = bottomHead.getNext();
         SkipListSetItem<T> currentTop;
 
         if(height > maxLevel) {
-            nodePosition++;
             currentTop = head;
-            for(int i = 0; i < height - maxLevel; i++) {
+            while(currentTop.getLevel() >= maxLevel) {
                 SkipListSetItem<T> next = currentTop.getNext();
                 while(next != null) {
                     next = deleteSingleNode(next);
                 }
+                if(currentTop.getLevel() == maxLevel) {
+                    break;
+                }
                 currentTop = currentTop.getBelow();
                 currentTop.setAbove(null);
             }
             head = currentTop;
-            current = current.getNext();
+            height = maxLevel;
         }
 
         while(current != null) {
@@ -528,9 +1375,53 @@ public class SkipListSet <T extends  Comparable<T>> implements SortedSet<T> {
                 currentTop = currentTop.getAbove();
             }
             if(currentTop.getLevel() < levelValue) {
-                addNewLevel(current, levelValue);
+                addNewLevel(currentTop, levelValue - currentTop.getLevel());
             }
             current = current.getNext();
         }
+
+        commit(event, null, height);
+    }
+
+    /**
+     * This internal method ends a flight recorder event and, only when the event is enabled and the operation took
+     * longer than its threshold, fills in its fields and commits it. The search depth is measured through a second
+     * descent, which is only worth paying for an operation that is already slow.
+     * @param event event started by the public operation.
+     * @param value value the operation was given, or null if the operation didn't target a single value.
+     * @param levelsTouched number of levels linked, unlinked or rebuilt by the operation.
+     */
+    private void commit(SkipListSetEvent event, T value, int levelsTouched) {
+        event.end();
+
+        if(event.shouldCommit()) {
+            event.setSize = size();
+            event.height = height;
+            event.searchDepth = value == null || isEmpty() ? 0 : searchDepth(value);
+            event.levelsTouched = levelsTouched;
+            event.commit();
+        }
+    }
+
+    /**
+     * This internal method counts the elements visited by search() for a given value, from the top of the head down
+     * to the bottom level.
+     * @param value value to be searched for.
+     * @return Returns the number of elements visited by the search.
+     */
+    private int searchDepth(T value) {
+        SkipListSetItem<T> current = head;
+        int depth = 0;
+
+        while(current.getBelow() != null) {
+            current = current.getBelow();
+            depth++;
+            while(current.getNext() != null && current.getNext().compareTo(value) <= 0) {
+                current = current.getNext();
+                depth++;
+            }
+        }
+
+        return depth;
     }
 }
\ No newline at end of file
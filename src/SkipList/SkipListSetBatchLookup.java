@@ -0,0 +1,189 @@
+package SkipList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+/**
+ * This class resolves a large batch of membership checks against a skip list set in parallel. The elements of an
+ * upper level of the list split the batch into ranges of keys. Each range is sorted and resolved by a single worker,
+ * which walks forward from the previous key it found through a finger search rather than descending from the head for
+ * every key. The skip list is only read, so it must not be modified while a batch is running.
+ * @param <T> accepts generics as parameters.
+ */
+final class SkipListSetBatchLookup <T extends Comparable<T>> {
+    private final Object[] keys;
+    private final boolean[] found;
+    private final List<SkipListSetItem<T>> splits;
+    private final int[] partition;
+    private final int[] order;
+    private final int[] offsets;
+
+    /**
+     * The constructor takes in the keys to be checked and the bottom elements splitting the skip list into ranges,
+     * the first of which must be the head of the list.
+     * @param keys keys whose presence in the skip list is to be tested.
+     * @param splits bottom elements of the towers splitting the skip list into ranges, in ascending order.
+     */
+    SkipListSetBatchLookup(Object[] keys, List<SkipListSetItem<T>> splits) {
+        this.keys = keys;
+        this.found = new boolean[keys.length];
+        this.splits = splits;
+        this.partition = new int[keys.length];
+        this.order = new int[keys.length];
+        this.offsets = new int[splits.size() + 1];
+    }
+
+    /**
+     * This method runs the lookups on the given pool and waits for them to complete. Keys are first assigned to the
+     * range they fall in, then grouped by range, and finally every range is sorted and resolved by its own task.
+     * @param pool pool whose workers perform the lookups.
+     * @return Returns an array holding, for each key, true if it is present in the skip list.
+     */
+    boolean[] run(ForkJoinPool pool) {
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            int chunks = Math.max(1, Math.min(keys.length, pool.getParallelism() * 4));
+            ArrayList<ForkJoinTask<?>> tasks = new ArrayList<>();
+
+            for(int c = 0; c < chunks; c++) {
+                int from = (int) ((long) keys.length * c / chunks);
+                int to = (int) ((long) keys.length * (c + 1) / chunks);
+                tasks.add(ForkJoinTask.adapt(() -> assignPartitions(from, to)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+
+            groupByPartition();
+
+            tasks.clear();
+            for(int p = 0; p < splits.size(); p++) {
+                int index = p;
+                if(offsets[p] < offsets[p + 1]) {
+                    tasks.add(ForkJoinTask.adapt(() -> resolvePartition(index)));
+                }
+            }
+            ForkJoinTask.invokeAll(tasks);
+        }));
+
+        return found;
+    }
+
+    /**
+     * This internal method finds, for every key in a slice of the batch, the last range whose first element is less
+     * than or equal to the key, through a binary search over the split elements.
+     * @param from index of the first key of the slice (inclusive).
+     * @param to index of the last key of the slice (exclusive).
+     */
+    private void assignPartitions(int from, int to) {
+        for(int i = from; i < to; i++) {
+            T key = (T) keys[i];
+            int low = 1;
+            int high = splits.size() - 1;
+            int result = 0;
+
+            while(low <= high) {
+                int middle = (low + high) >>> 1;
+                if(splits.get(middle).compareTo(key) <= 0) {
+                    result = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+
+            partition[i] = result;
+        }
+    }
+
+    /** This internal method groups the indexes of the keys by range through a counting sort. */
+    private void groupByPartition() {
+        int[] next = new int[splits.size()];
+
+        for(int i = 0; i < keys.length; i++) {
+            offsets[partition[i] + 1]++;
+        }
+        for(int p = 0; p < splits.size(); p++) {
+            offsets[p + 1] += offsets[p];
+            next[p] = offsets[p];
+        }
+        for(int i = 0; i < keys.length; i++) {
+            order[next[partition[i]]++] = i;
+        }
+    }
+
+    /**
+     * This internal method sorts the keys of a range, then resolves them in ascending order. The search for each key
+     * starts from the element found for the previous key, beginning with the first element of the range.
+     * @param p index of the range to be resolved.
+     */
+    private void resolvePartition(int p) {
+        int from = offsets[p];
+        int to = offsets[p + 1];
+        SkipListSetItem<T> finger = splits.get(p);
+
+        sortByKey(from, to, new int[to - from]);
+
+        for(int i = from; i < to; i++) {
+            T key = (T) keys[order[i]];
+            finger = fingerSearch(finger, key);
+            found[order[i]] = finger.compareTo(key) == 0 && !finger.isDeleted();
+        }
+    }
+
+    /**
+     * This internal method performs a finger search. Starting from a bottom element less than or equal to the key,
+     * the search climbs the towers it meets for as long as the next element of the level is still less than or equal
+     * to the key, then descends like search(). The cost is logarithmic in the distance between the finger and the key
+     * rather than in the size of the list.
+     * @param finger bottom element to start from.
+     * @param key key to be found.
+     * @return Returns the closest bottom element less than or equal to the key, or the finger if none is closer.
+     */
+    private SkipListSetItem<T> fingerSearch(SkipListSetItem<T> finger, T key) {
+        SkipListSetItem<T> current = finger;
+
+        while(current.getNext() != null && current.getNext().compareTo(key) <= 0) {
+            current = current.getAbove() != null ? current.getAbove() : current.getNext();
+        }
+
+        while(current.getBelow() != null) {
+            current = current.getBelow();
+            while(current.getNext() != null && current.getNext().compareTo(key) <= 0) {
+                current = current.getNext();
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * This internal method sorts a slice of the key indexes by key through a merge sort, without boxing the indexes.
+     * @param from index of the first entry of the slice (inclusive).
+     * @param to index of the last entry of the slice (exclusive).
+     * @param buffer scratch space holding at least to - from entries.
+     */
+    private void sortByKey(int from, int to, int[] buffer) {
+        if(to - from < 2) {
+            return ;
+        }
+
+        int middle = (from + to) >>> 1;
+        sortByKey(from, middle, buffer);
+        sortByKey(middle, to, buffer);
+
+        if(((T) keys[order[middle - 1]]).compareTo((T) keys[order[middle]]) <= 0) {
+            return ;
+        }
+
+        System.arraycopy(order, from, buffer, 0, to - from);
+        int left = 0;
+        int right = middle - from;
+        for(int i = from; i < to; i++) {
+            if(right >= to - from || (left < middle - from
+                    && ((T) keys[buffer[left]]).compareTo((T) keys[buffer[right]]) <= 0)) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package SkipList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+/**
+ * This class is used to scan a skip list set starting from any element. A cursor always sits between two elements
+ * of the set: next() returns the element after the cursor and previous() returns the element before it. Calling
+ * seek() moves the cursor in logarithmic time by reusing the search operation of the set, and nextBatch() copies
+ * many elements per call. A cursor is not updated when the set is modified, so it should be repositioned through
+ * one of the seek methods after elements are added or removed.
+ * @param <T> accepts generics as parameters.
+ */
+public class SkipListSetCursor <T extends Comparable<T>> implements Iterator<T> {
+    private SkipListSet<T> skipListSet;
+    private SkipListSetItem<T> current;
+
+    /**
+     * The default constructor takes in one parameter, which is the location of the set to be scanned. The cursor is
+     * positioned before the first element of the set.
+     * @param skipListSet the current skip list set whose element is to be scanned.
+     */
+    public SkipListSetCursor(SkipListSet<T> skipListSet) {
+        this.skipListSet = skipListSet;
+        seekToFirst();
+    }
+
+    /** This method positions the cursor before the first element, so that next() returns the smallest element. */
+    public void seekToFirst() {
+        current = skipListSet.isEmpty() ? null : SkipListSet.liveFrom(skipListSet.getHead());
+    }
+
+    /** This method positions the cursor after the last element, so that previous() returns the largest element. */
+    public void seekToLast() {
+        current = null;
+    }
+
+    /**
+     * This method positions the cursor before the first element greater than or equal to the given value. The
+     * element is found through the search() method of the set, rather than by walking from its head.
+     * @param value value the cursor is to be positioned at.
+     */
+    public void seek(T value) {
+        if(skipListSet.isEmpty()) {
+            current = null;
+            return ;
+        }
+
+        current = skipListSet.search(value);
+        if(current.compareTo(value) < 0) {
+            current = current.getNext();
+        }
+        current = SkipListSet.liveFrom(current);
+    }
+
+    /**
+     * This method is used to check if there is an element after the cursor.
+     * @return Returns true if next() can be called, otherwise returns false.
+     */
+    @Override
+    public boolean hasNext() {
+        return current != null;
+    }
+
+    /**
+     * This method returns the element after the cursor and moves the cursor forward by one element.
+     * @return Returns the value of the next element in the set.
+     * @throws NoSuchElementException if the cursor is positioned after the last element.
+     */
+    @Override
+    public T next() {
+        if(current == null) {
+            throw new NoSuchElementException();
+        }
+
+        T value = current.getValue();
+        current = SkipListSet.liveFrom(current.getNext());
+        return value;
+    }
+
+    /**
+     * This method is used to check if there is an element before the cursor.
+     * @return Returns true if previous() can be called, otherwise returns false.
+     */
+    public boolean hasPrevious() {
+        if(current == null) {
+            return !skipListSet.isEmpty();
+        }
+        return SkipListSet.liveBefore(current.getPrevious()) != null;
+    }
+
+    /**
+     * This method returns the element before the cursor and moves the cursor backward by one element.
+     * @return Returns the value of the previous element in the set.
+     * @throws NoSuchElementException if the cursor is positioned before the first element.
+     */
+    public T previous() {
+        if(!hasPrevious()) {
+            throw new NoSuchElementException();
+        }
+
+        current = SkipListSet.liveBefore(current == null ? skipListSet.getTail() : current.getPrevious());
+        return current.getValue();
+    }
+
+    /**
+     * This method copies the elements after the cursor into the given array, moving the cursor past every element
+     * that was copied. The array is filled from its first index until it is full or the set has no more elements.
+     * @param array the array into which the next elements of the set are to be stored.
+     * @return Returns the number of elements stored in the array, which is 0 once the scan is complete.
+     */
+    public int nextBatch(T[] array) {
+        SkipListSetItem<T> node = current;
+        int count = 0;
+
+        while(node != null && count < array.length) {
+            array[count++] = node.getValue();
+            node = SkipListSet.liveFrom(node.getNext());
+        }
+
+        current = node;
+        return count;
+    }
+
+    /**
+     * This method performs the given action on every element after the cursor, leaving the cursor after the last
+     * element of the set.
+     * @param action the action to be performed for each element.
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        SkipListSetItem<T> node = current;
+
+        while(node != null) {
+            action.accept(node.getValue());
+            node = SkipListSet.liveFrom(node.getNext());
+        }
+
+        current = null;
+    }
+}
@@ -0,0 +1,81 @@
+package SkipList;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+/**
+ * This class describes the Java Flight Recorder events emitted by the skip list set. Every event is disabled by
+ * default and only committed when the operation takes longer than its threshold, so that a recording holds the slow
+ * operations alone. While an event is disabled, begin(), end() and shouldCommit() do nothing, and the fields below are
+ * only computed once shouldCommit() returns true. Events are enabled by name, for instance SkipList.Add, either
+ * through a JFR settings file or through Recording.enable().
+ */
+@Category("Skip List")
+@Enabled(false)
+@Threshold("1 ms")
+abstract class SkipListSetEvent extends Event {
+    @Label("Set Size")
+    @Description("Number of elements in the set once the operation completed")
+    int setSize;
+
+    @Label("Height")
+    @Description("Number of levels in the set once the operation completed")
+    int height;
+
+    @Label("Search Depth")
+    @Description("Number of elements visited by a search for the value once the operation completed")
+    int searchDepth;
+
+    @Label("Levels Touched")
+    @Description("Number of levels linked, unlinked or rebuilt by the operation")
+    int levelsTouched;
+
+    /** This class records a call to add(). */
+    @Name("SkipList.Add")
+    @Label("Skip List Add")
+    static final class Add extends SkipListSetEvent {
+    }
+
+    /** This class records a call to remove(). */
+    @Name("SkipList.Remove")
+    @Label("Skip List Remove")
+    static final class Remove extends SkipListSetEvent {
+    }
+
+    /** This class records a call to contains(). */
+    @Name("SkipList.Contains")
+    @Label("Skip List Contains")
+    static final class Contains extends SkipListSetEvent {
+    }
+
+    /** This class records a call to reBalance(). */
+    @Name("SkipList.ReBalance")
+    @Label("Skip List Rebalance")
+    @Threshold("20 ms")
+    static final class ReBalance extends SkipListSetEvent {
+    }
+
+    /** This class records a call to addAll(). */
+    @Name("SkipList.AddAll")
+    @Label("Skip List Add All")
+    @Threshold("20 ms")
+    static final class AddAll extends SkipListSetEvent {
+        @Label("Elements")
+        @Description("Number of elements in the collection being added")
+        int elements;
+    }
+
+    /** This class records a call to clear(). */
+    @Name("SkipList.Clear")
+    @Label("Skip List Clear")
+    @Threshold("20 ms")
+    static final class Clear extends SkipListSetEvent {
+        @Label("Elements")
+        @Description("Number of elements in the set before it was cleared")
+        int elements;
+    }
+}
@@ -15,6 +15,7 @@ public class SkipListSetItem <T extends Comparable<T>> {
     private SkipListSetItem<T> previous;
     private T value;
     private Integer level;
+    private boolean deleted;
 
     /**
      * The default constructor takes in no parameters and is called in the beginning of the set's initialization.
@@ -104,6 +105,15 @@ public class SkipListSetItem <T extends Comparable<T>> {
         return level;
     }
 
+    /**
+     * Getter method for checking whether a given skip list item was removed in lazy deletion mode. The flag is only
+     * kept on the bottom element of each tower.
+     * @return Returns true if the current element is a tombstone waiting to be unlinked, otherwise returns false.
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
     /**
      * Setter method for setting the next element of a given skip list item.
      * @param next memory location of next element.
@@ -144,6 +154,14 @@ public class SkipListSetItem <T extends Comparable<T>> {
         this.value = value;
     }
 
+    /**
+     * Setter method for marking a given skip list item as removed or live.
+     * @param deleted true if the current element is a tombstone, false if it is live.
+     */
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
     /**
      * Setter method for setting the level of a given skip list item.
      * @param level memory location of level.
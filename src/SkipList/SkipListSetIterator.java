@@ -1,6 +1,7 @@
 package SkipList;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 /**
  * This class is used to aid with skip list iteration. Given a skip list set, an instance of the
  * SkipListSetIterator class stores the location of the set, as well as the location of the current element -
@@ -13,42 +14,56 @@ import java.util.Iterator;
 public class SkipListSetIterator <T extends Comparable<T>> implements Iterator<T> {
     private SkipListSet<T> skipListSet;
     private SkipListSetItem<T> current;
+    private SkipListSetItem<T> lastReturned;
 
     /**
      * The default constructor takes in one parameter, which is the location of the set to be iterated over. The
-     * current location is set to the head of the set.
+     * current location is set to the head of the set, which is the first element returned by next().
      * @param skipListSet the current skip list set whose element is to be iterated over.
      */
     public SkipListSetIterator(SkipListSet<T> skipListSet) {
         this.skipListSet = skipListSet;
-        this.current = skipListSet.getHead();
+        this.current = skipListSet.isEmpty() ? null : SkipListSet.liveFrom(skipListSet.getHead());
     }
 
     /**
      * This method is used to check if it's possible to iterate to the next element - returning true if the iteration
-     * has not reached the tail of the set.
-     * @return Returns false if the tail of the skip list is reached during the iteration, otherwise returns true.
+     * has not gone past the tail of the set.
+     * @return Returns false if the tail of the skip list was already returned, otherwise returns true.
      */
     @Override
     public boolean hasNext() {
-        return current.getNext() != null;
+        return current != null;
     }
 
     /**
      * This method is used to retrieve the next element during the iteration process.
      * @return Returns the memory location of the next element in the skip list during the iteration process.
+     * @throws NoSuchElementException if the iteration has no more elements.
      */
     @Override
     public T next() {
-        current = current.getNext();
-        return current.getValue();
+        if(current == null) {
+            throw new NoSuchElementException();
+        }
+
+        lastReturned = current;
+        current = SkipListSet.liveFrom(current.getNext());
+        return lastReturned.getValue();
     }
 
-    /** This method calls the remove method from the skip list set class. */
+    /**
+     * This method calls the remove method from the skip list set class on the element last returned by next().
+     * @throws IllegalStateException if next() has not been called since the last call to remove().
+     */
     @Override
     public void remove() {
-        current = current.getNext();
-        skipListSet.remove(current.getPrevious().getValue());
+        if(lastReturned == null) {
+            throw new IllegalStateException();
+        }
+
+        skipListSet.remove(lastReturned.getValue());
+        lastReturned = null;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package SkipList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+/**
+ * This class is used to scan many skip list sets as if they were a single one, in ascending order. Each set is read
+ * through its own SkipListSetCursor, and a heap keyed on the next element of every cursor picks the smallest one at
+ * each step, so returning k elements from N sets costs O(k log N) without copying any of them. Calling seek() moves
+ * every cursor through its own search, after which the heap is rebuilt. When duplicates are dropped, a value held by
+ * several sets is only returned once. Like a single cursor, the merge cursor should be repositioned through seek()
+ * after any of the sets is modified.
+ * @param <T> accepts generics as parameters.
+ */
+public class SkipListSetMergeCursor <T extends Comparable<T>> implements Iterator<T> {
+    private ArrayList<Source<T>> sources;
+    private PriorityQueue<Source<T>> heap;
+    private boolean distinct;
+
+    /**
+     * This class pairs the cursor of one skip list set with the element it will return next. Sources are compared
+     * through that element, so that the top of the heap always holds the smallest element not yet returned.
+     * @param <T> accepts generics as parameters.
+     */
+    private static class Source <T extends Comparable<T>> implements Comparable<Source<T>> {
+        private SkipListSetCursor<T> cursor;
+        private T value;
+
+        private Source(SkipListSetCursor<T> cursor) {
+            this.cursor = cursor;
+        }
+
+        private boolean advance() {
+            value = cursor.hasNext() ? cursor.next() : null;
+            return value != null;
+        }
+
+        @Override
+        public int compareTo(Source<T> source) {
+            return value.compareTo(source.value);
+        }
+    }
+
+    /**
+     * The constructor takes in the sets to be merged, positioning the cursor before the smallest of their elements.
+     * @param skipListSets sets whose elements are to be merged.
+     * @param distinct true to return a value held by several sets only once, false to return it once per set.
+     */
+    public SkipListSetMergeCursor(Collection<? extends SkipListSet<T>> skipListSets, boolean distinct) {
+        this.sources = new ArrayList<>(skipListSets.size());
+        this.heap = new PriorityQueue<>(Math.max(1, skipListSets.size()));
+        this.distinct = distinct;
+
+        for(SkipListSet<T> skipListSet : skipListSets) {
+            sources.add(new Source<>(skipListSet.cursor()));
+        }
+        seekToFirst();
+    }
+
+    /** This method moves every cursor before the first element of its set. */
+    public void seekToFirst() {
+        for(Source<T> source : sources) {
+            source.cursor.seekToFirst();
+        }
+        fillHeap();
+    }
+
+    /**
+     * This method moves every cursor right before the smallest element of its set greater than or equal to the given
+     * value, through the search operation of each set.
+     * @param value value the cursors are to be moved to.
+     */
+    public void seek(T value) {
+        for(Source<T> source : sources) {
+            source.cursor.seek(value);
+        }
+        fillHeap();
+    }
+
+    /** This internal method reads the next element of every cursor and rebuilds the heap from them. */
+    private void fillHeap() {
+        heap.clear();
+        for(Source<T> source : sources) {
+            if(source.advance()) {
+                heap.add(source);
+            }
+        }
+    }
+
+    /**
+     * This method is used to check if any of the sets has an element left after the cursor.
+     * @return Returns true if next() has an element to return, otherwise returns false.
+     */
+    @Override
+    public boolean hasNext() {
+        return !heap.isEmpty();
+    }
+
+    /**
+     * This method returns the smallest element left across every set, then advances the set it came from. When
+     * duplicates are dropped, every other set whose next element is equal is advanced as well.
+     * @return Returns the next element in ascending order.
+     * @throws NoSuchElementException if no element is left in any of the sets.
+     */
+    @Override
+    public T next() {
+        if(heap.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        Source<T> source = heap.poll();
+        T value = source.value;
+        if(source.advance()) {
+            heap.add(source);
+        }
+
+        while(distinct && !heap.isEmpty() && heap.peek().value.compareTo(value) == 0) {
+            source = heap.poll();
+            if(source.advance()) {
+                heap.add(source);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * This method returns a spliterator over the elements left after the cursor, in ascending order. The spliterator
+     * advances this cursor as it is consumed.
+     * @return Returns a sorted, ordered spliterator over the remaining elements.
+     */
+    public Spliterator<T> spliterator() {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL;
+
+        return Spliterators.spliteratorUnknownSize(this, distinct ? characteristics | Spliterator.DISTINCT
+                : characteristics);
+    }
+}
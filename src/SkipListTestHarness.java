@@ -1,3 +1,7 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
@@ -10,18 +14,81 @@ import java.util.TreeSet;
 import SkipList.SkipListSet;
 
 public class SkipListTestHarness {
+	private static class Measurement {
+		String caseName;
+		String structure;
+		String phase;
+		long elements;
+		long wallMs;
+		long cpuMs = -1;
+		long allocatedBytes = -1;
+		long gcCount;
+		long gcMs;
+		long retainedBytes = -1;
+	}
+
 	private static class CPUTimer {
-		public static <T> long timeFor(Callable<T> task) {
+		private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+		public static <T> Measurement timeFor(Callable<T> task) {
+			Measurement measurement = new Measurement();
+
 			try {
+				long gcCount = gcCount();
+				long gcMs = gcMillis();
+				long allocated = allocatedBytes();
+				long cpu = cpuNanos();
 				long start = System.currentTimeMillis();
 				T t = task.call();
 				long end = System.currentTimeMillis();
-				return end - start;
+
+				if(cpu >= 0) {
+					measurement.cpuMs = (cpuNanos() - cpu) / 1000000;
+				}
+				if(allocated >= 0) {
+					measurement.allocatedBytes = allocatedBytes() - allocated;
+				}
+				measurement.wallMs = end - start;
+				measurement.gcCount = gcCount() - gcCount;
+				measurement.gcMs = gcMillis() - gcMs;
 			} catch (Exception e) {
 				System.out.println(e.toString());
 				e.printStackTrace();
 			}
-			return 0;
+			return measurement;
+		}
+
+		private static long cpuNanos() {
+			if(!threadBean.isCurrentThreadCpuTimeSupported()) {
+				return -1;
+			}
+			return threadBean.getCurrentThreadCpuTime();
+		}
+
+		private static long allocatedBytes() {
+			if(threadBean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+				if(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+					return bean.getCurrentThreadAllocatedBytes();
+				}
+			}
+			return -1;
+		}
+
+		private static long gcCount() {
+			long count = 0;
+			for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+				count += Math.max(bean.getCollectionCount(), 0);
+			}
+			return count;
+		}
+
+		private static long gcMillis() {
+			long ms = 0;
+			for(GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+				ms += Math.max(bean.getCollectionTime(), 0);
+			}
+			return ms;
 		}
 	}
 	
@@ -29,6 +96,12 @@ public class SkipListTestHarness {
 
 	static Random RandomGenerator = new Random(RandomSeed);
 	static byte[] buf = new byte[1024];
+
+	static String CaseName = "";
+	static ArrayList<Measurement> Results = new ArrayList<Measurement>();
+	static int ResultsWritten = 0;
+	static PrintWriter ResultsCsv;
+	static PrintWriter ResultsJson;
 	
 	private static ArrayList<Integer> generateIntArrayList(int howMany) {
 		ArrayList<Integer> list = new ArrayList<Integer>(howMany);
@@ -111,24 +184,98 @@ public class SkipListTestHarness {
 		return 0;
 	}
 
+	private static <T> long measure(String structure, String phase, long elements, Callable<T> task) {
+		Measurement measurement = CPUTimer.timeFor(task);
+
+		measurement.caseName = CaseName;
+		measurement.structure = structure;
+		measurement.phase = phase;
+		measurement.elements = elements;
+		Results.add(measurement);
+
+		return measurement.wallMs;
+	}
+
+	private static long usedHeap() {
+		System.gc();
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private static void recordRetained(long heapBefore) {
+		Results.get(Results.size() - 1).retainedBytes = Math.max(usedHeap() - heapBefore, 0);
+	}
+
+	private static void openResults(String baseName) {
+		try {
+			ResultsCsv = new PrintWriter(new FileWriter(baseName + ".csv"));
+			ResultsJson = new PrintWriter(new FileWriter(baseName + ".json"));
+		} catch (IOException e) {
+			System.out.println(e.toString());
+			e.printStackTrace();
+			return;
+		}
+
+		ResultsCsv.println("case,structure,phase,elements,wall_ms,cpu_ms,allocated_bytes,gc_count,gc_ms,retained_bytes");
+		ResultsJson.print("[");
+		ResultsCsv.flush();
+		ResultsJson.flush();
+
+		// Closes the json array even when the run ends early, so the rows already flushed remain readable.
+		Runtime.getRuntime().addShutdownHook(new Thread(SkipListTestHarness::closeResults));
+	}
+
+	private static synchronized void flushResults() {
+		if(ResultsCsv == null) {
+			return;
+		}
+
+		for(; ResultsWritten < Results.size(); ResultsWritten++) {
+			Measurement m = Results.get(ResultsWritten);
+
+			ResultsCsv.printf("\"%s\",%s,%s,%d,%d,%d,%d,%d,%d,%d\n", m.caseName, m.structure, m.phase, m.elements,
+					m.wallMs, m.cpuMs, m.allocatedBytes, m.gcCount, m.gcMs, m.retainedBytes);
+			ResultsJson.printf("%s\n  {\"case\": \"%s\", \"structure\": \"%s\", \"phase\": \"%s\", \"elements\": %d, "
+					+ "\"wall_ms\": %d, \"cpu_ms\": %d, \"allocated_bytes\": %d, \"gc_count\": %d, \"gc_ms\": %d, "
+					+ "\"retained_bytes\": %d}", (ResultsWritten > 0) ? "," : "", m.caseName, m.structure, m.phase,
+					m.elements, m.wallMs, m.cpuMs, m.allocatedBytes, m.gcCount, m.gcMs, m.retainedBytes);
+		}
+
+		ResultsCsv.flush();
+		ResultsJson.flush();
+	}
+
+	private static synchronized void closeResults() {
+		if(ResultsCsv == null) {
+			return;
+		}
+
+		ResultsJson.println("\n]");
+		ResultsCsv.close();
+		ResultsJson.close();
+		ResultsCsv = null;
+		ResultsJson = null;
+	}
+
 	private static <T extends Comparable<T>> void executeCase(ArrayList<? extends T> values, ArrayList<? extends T> strikes, boolean includeLinkedList, boolean includeRemoves) {
 		ArrayList<T> removeList = generateRemoveList(strikes);
-		long start;
-		long end;
+		long heap;
 		long ms;
 
 		if(includeLinkedList) {
 			LinkedList<T> linkedList = new LinkedList<T>();
 			
 			System.out.printf("  LinkedList  ");
-			ms = CPUTimer.timeFor(() -> linkedList.addAll(values));
+			heap = usedHeap();
+			ms = measure("LinkedList", "add", values.size(), () -> linkedList.addAll(values));
+			recordRetained(heap);
 			System.out.printf("add: %,6dms  ", ms);
-			ms = CPUTimer.timeFor(() -> executeFinds(linkedList, strikes));
+			ms = measure("LinkedList", "find", strikes.size(), () -> executeFinds(linkedList, strikes));
 			System.out.printf("find: %,6dms  ", ms);
 			if(includeRemoves) {
-				ms = CPUTimer.timeFor(() -> linkedList.removeAll(removeList));
+				ms = measure("LinkedList", "del", removeList.size(), () -> linkedList.removeAll(removeList));
 				System.out.printf("del: %,6dms  ", ms);
-				ms = CPUTimer.timeFor(() -> executeFinds(linkedList, strikes));
+				ms = measure("LinkedList", "find", strikes.size(), () -> executeFinds(linkedList, strikes));
 				System.out.printf("find: %,6dms  ", ms);
 			}
 			System.out.printf("\n");
@@ -141,28 +288,27 @@ public class SkipListTestHarness {
 			SkipListSet<T> skipListSet = new SkipListSet<T>();
 			
 			System.out.printf("  SkipListSet ");
-			ms = CPUTimer.timeFor(() -> skipListSet.addAll(values));
+			heap = usedHeap();
+			ms = measure("SkipListSet", "add", values.size(), () -> skipListSet.addAll(values));
+			recordRetained(heap);
 			System.out.printf("add: %,6dms  ", ms);
-			ms = CPUTimer.timeFor(() -> executeFinds(skipListSet, strikes));
+			ms = measure("SkipListSet", "find", strikes.size(), () -> executeFinds(skipListSet, strikes));
 			System.out.printf("find: %,6dms  ", ms);
 	
 			if(includeRemoves) {
-				ms = CPUTimer.timeFor(() -> skipListSet.removeAll(removeList));
+				ms = measure("SkipListSet", "del", removeList.size(), () -> skipListSet.removeAll(removeList));
 				System.out.printf("del: %,6dms  ", ms);
-				ms = CPUTimer.timeFor(() -> executeFinds(skipListSet, strikes));
+				ms = measure("SkipListSet", "find", strikes.size(), () -> executeFinds(skipListSet, strikes));
 				System.out.printf("find: %,6dms  ", ms);
 			}
 	
 			System.out.printf("\n");
 			System.out.printf("                                             ");
 	
-			start = System.currentTimeMillis();
-			skipListSet.reBalance();
-			end = System.currentTimeMillis();
-			ms = end - start;
+			ms = measure("SkipListSet", "bal", skipListSet.size(), () -> { skipListSet.reBalance(); return null; });
 			System.out.printf("bal: %,6dms  ", ms);
 	
-			ms = CPUTimer.timeFor(() -> executeFinds(skipListSet, strikes));
+			ms = measure("SkipListSet", "find", strikes.size(), () -> executeFinds(skipListSet, strikes));
 			System.out.printf("find: %,6dms  ", ms);
 			
 			System.out.printf("\n");
@@ -175,16 +321,18 @@ public class SkipListTestHarness {
 			TreeSet<T> treeSet = new TreeSet<T>();
 
 			System.out.printf("  TreeSet     ");
-			ms = CPUTimer.timeFor(() -> treeSet.addAll(values));
+			heap = usedHeap();
+			ms = measure("TreeSet", "add", values.size(), () -> treeSet.addAll(values));
+			recordRetained(heap);
 			System.out.printf("add: %,6dms  ", ms);
 	
-			ms = CPUTimer.timeFor(() -> executeFinds(treeSet, strikes));
+			ms = measure("TreeSet", "find", strikes.size(), () -> executeFinds(treeSet, strikes));
 			System.out.printf("find: %,6dms  ", ms);
 	
 			if(includeRemoves) {
-				ms = CPUTimer.timeFor(() -> treeSet.removeAll(removeList));
+				ms = measure("TreeSet", "del", removeList.size(), () -> treeSet.removeAll(removeList));
 				System.out.printf("del: %,6dms  ", ms);
-				ms = CPUTimer.timeFor(() -> executeFinds(treeSet, strikes));
+				ms = measure("TreeSet", "find", strikes.size(), () -> executeFinds(treeSet, strikes));
 				System.out.printf("find: %,6dms  ", ms);
 			}
 			System.out.printf("\n");		
@@ -193,10 +341,12 @@ public class SkipListTestHarness {
 		System.gc();
 		
 		System.out.printf("\n");		
+		flushResults();
 	}
 
 	public static void executeStringCase(int listSize, int strikeSize, int stringSize, boolean includeLinkedList, boolean includeRemoves) {
 		System.out.printf("CASE: %,d strings of length %,d, %,d finds, %,d removals.  Generating...\n", listSize, stringSize, strikeSize, (strikeSize/2));
+		CaseName = String.format("%,d strings of length %,d, %,d finds", listSize, stringSize, strikeSize);
 
 		ArrayList<String> strings = generateStringArrayList(listSize, stringSize);
 		ArrayList<String> strikes = generateStrikeList(strings, strikeSize);
@@ -206,6 +356,7 @@ public class SkipListTestHarness {
 	
 	public static void executeIntCase(int listSize, int strikeSize, boolean includeLinkedList, boolean includeRemoves) {
 		System.out.printf("CASE: %,d integers, %,d finds, %,d removals.  Generating...\n", listSize, strikeSize, strikeSize/2);
+		CaseName = String.format("%,d integers, %,d finds", listSize, strikeSize);
 
 		ArrayList<Integer> intlist = generateIntArrayList(listSize);
 		ArrayList<Integer> strikes = generateStrikeList(intlist, strikeSize);
@@ -215,6 +366,7 @@ public class SkipListTestHarness {
 	
 	public static void executeDoubleCase(int listSize, int strikeSize, boolean includeLinkedList, boolean includeRemoves) {
 		System.out.printf("CASE: %,d doubles, %,d finds, %,d removals.  Generating...\n", listSize, strikeSize, strikeSize/2);
+		CaseName = String.format("%,d doubles, %,d finds", listSize, strikeSize);
 
 		ArrayList<Double> doubles = generateDoubleArrayList(listSize);
 		ArrayList<Double> strikes = generateStrikeList(doubles, strikeSize);
@@ -225,6 +377,8 @@ public class SkipListTestHarness {
 	public SkipListTestHarness() {}
 	
 	public static void main(String args[]) {
+		SkipListTestHarness.openResults(args.length > 0 ? args[0] : "skiplist-results");
+
 		SkipListTestHarness.executeStringCase(100000, 10000, 1000, false, true);
 		System.gc();
 		SkipListTestHarness.executeStringCase(1000000, 10000, 1000, false, true);
@@ -248,4 +402,4 @@ public class SkipListTestHarness {
 		SkipListTestHarness.executeIntCase(10000000, 10000000, false, true);	
 		System.gc();
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,464 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import SkipList.SkipListSet;
+import SkipList.SkipListSetCursor;
+
+public class SkipListWorkload {
+	static final byte READ = 0;
+	static final byte INSERT = 1;
+	static final byte DELETE = 2;
+	static final byte RANGE = 3;
+	static final String[] OpNames = { "read", "insert", "delete", "range" };
+	static final int TraceMagic = 0x534b4c54;
+	static final int TraceVersion = 2;
+
+	/* A trace carries its key space, range length and preloaded keys, so that replaying it runs the same workload. */
+	private static class Trace {
+		byte[] ops;
+		int[] keys;
+		int[] preload;
+		int keySpace;
+		int rangeLength;
+
+		Trace(int howMany, int preloadSize, int keySpace, int rangeLength) {
+			ops = new byte[howMany];
+			keys = new int[howMany];
+			preload = new int[preloadSize];
+			this.keySpace = keySpace;
+			this.rangeLength = rangeLength;
+		}
+	}
+
+	/* Log-linear histogram: 32 sub-buckets per power of two, so each bucket is within ~3% of the values it holds. */
+	private static class LatencyHistogram {
+		long[] buckets = new long[59 * 32];
+		long count;
+		long max;
+
+		void record(long nanos) {
+			buckets[indexFor(Math.max(nanos, 0))]++;
+			count++;
+			if(nanos > max) max = nanos;
+		}
+
+		void merge(LatencyHistogram other) {
+			for(int i = 0; i < buckets.length; i++) {
+				buckets[i] += other.buckets[i];
+			}
+			count += other.count;
+			max = Math.max(max, other.max);
+		}
+
+		long percentile(double percent) {
+			long rank = (long) Math.ceil(count * percent / 100.0);
+			long seen = 0;
+
+			for(int i = 0; i < buckets.length; i++) {
+				seen += buckets[i];
+				if(seen >= rank && buckets[i] > 0) {
+					return Math.min(upperBoundOf(i), max);
+				}
+			}
+			return max;
+		}
+
+		private static int indexFor(long value) {
+			if(value < 32) return (int) value;
+			int exponent = 63 - Long.numberOfLeadingZeros(value);
+			int sub = (int) ((value >>> (exponent - 5)) & 31);
+			return (exponent - 4) * 32 + sub;
+		}
+
+		private static long upperBoundOf(int index) {
+			if(index < 32) return index;
+			int exponent = index / 32 + 4;
+			long sub = index % 32;
+			return ((32 + sub + 1) << (exponent - 5)) - 1;
+		}
+	}
+
+	private interface Target {
+		String name();
+		void load(List<Integer> keys);
+		boolean contains(int key);
+		boolean add(int key);
+		boolean remove(int key);
+		int range(int from, int howMany);
+	}
+
+	private static class SkipListSetTarget implements Target {
+		SkipListSet<Integer> set = new SkipListSet<Integer>();
+
+		public String name() { return "SkipListSet"; }
+		public void load(List<Integer> keys) { set.addAll(keys); }
+		public boolean contains(int key) { return set.contains(key); }
+		public boolean add(int key) { return set.add(key); }
+		public boolean remove(int key) { return set.remove(key); }
+
+		public int range(int from, int howMany) {
+			SkipListSetCursor<Integer> cursor = set.cursor();
+			int found = 0;
+
+			cursor.seek(from);
+			while(found < howMany && cursor.hasNext()) {
+				cursor.next();
+				found++;
+			}
+			return found;
+		}
+	}
+
+	private static class NavigableSetTarget implements Target {
+		String name;
+		NavigableSet<Integer> set;
+
+		NavigableSetTarget(String name, NavigableSet<Integer> set) {
+			this.name = name;
+			this.set = set;
+		}
+
+		public String name() { return name; }
+		public void load(List<Integer> keys) { set.addAll(keys); }
+		public boolean contains(int key) { return set.contains(key); }
+		public boolean add(int key) { return set.add(key); }
+		public boolean remove(int key) { return set.remove(key); }
+
+		public int range(int from, int howMany) {
+			Iterator<Integer> iterator = set.tailSet(from, true).iterator();
+			int found = 0;
+
+			while(found < howMany && iterator.hasNext()) {
+				iterator.next();
+				found++;
+			}
+			return found;
+		}
+	}
+
+	/* SkipListSet and TreeSet are not thread-safe, so with several threads every operation holds a single lock. */
+	private static class LockedTarget implements Target {
+		Target target;
+		ReentrantLock lock = new ReentrantLock();
+
+		LockedTarget(Target target) {
+			this.target = target;
+		}
+
+		public String name() { return target.name() + " (locked)"; }
+		public void load(List<Integer> keys) { target.load(keys); }
+
+		public boolean contains(int key) {
+			lock.lock();
+			try { return target.contains(key); } finally { lock.unlock(); }
+		}
+
+		public boolean add(int key) {
+			lock.lock();
+			try { return target.add(key); } finally { lock.unlock(); }
+		}
+
+		public boolean remove(int key) {
+			lock.lock();
+			try { return target.remove(key); } finally { lock.unlock(); }
+		}
+
+		public int range(int from, int howMany) {
+			lock.lock();
+			try { return target.range(from, howMany); } finally { lock.unlock(); }
+		}
+	}
+
+	/* Zipfian ranks following Gray et al., "Quickly Generating Billion-Record Synthetic Databases". */
+	private static class ZipfianGenerator {
+		Random random;
+		long items;
+		double theta;
+		double zetaN;
+		double alpha;
+		double eta;
+
+		ZipfianGenerator(Random random, long items, double theta) {
+			this.random = random;
+			this.items = items;
+			this.theta = theta;
+
+			double zeta2 = 0;
+			for(long i = 1; i <= 2; i++) zeta2 += 1.0 / Math.pow(i, theta);
+			for(long i = 1; i <= items; i++) zetaN += 1.0 / Math.pow(i, theta);
+
+			alpha = 1.0 / (1.0 - theta);
+			eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetaN);
+		}
+
+		long nextRank() {
+			double u = random.nextDouble();
+			double uz = u * zetaN;
+
+			if(uz < 1.0) return 0;
+			if(uz < 1.0 + Math.pow(0.5, theta)) return 1;
+			return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+		}
+	}
+
+	static int TraceOps = 1000000;
+	static int KeySpace = 1000000;
+	static double[] Ratios = { 0.70, 0.15, 0.10, 0.05 };
+	static String Distribution = "uniform";
+	static double Theta = 0.99;
+	static int Threads = 1;
+	static int RangeLength = 100;
+	static long RandomSeed = 1;
+	static String RecordPath = null;
+	static String ReplayPath = null;
+
+	/* Spreads Zipfian ranks over the key space so the hottest keys are not all adjacent. */
+	private static int scramble(long rank) {
+		long hash = rank * 0x9E3779B97F4A7C15L;
+		return (int) Math.floorMod(hash ^ (hash >>> 29), (long) KeySpace);
+	}
+
+	private static Trace generateTrace(Random random) {
+		Trace trace = new Trace(TraceOps, KeySpace / 2, KeySpace, RangeLength);
+		ZipfianGenerator zipfian = Distribution.equals("zipfian") ? new ZipfianGenerator(random, KeySpace, Theta) : null;
+		double total = Ratios[READ] + Ratios[INSERT] + Ratios[DELETE] + Ratios[RANGE];
+		long sequence = 0;
+
+		for(int i = 0; i < TraceOps; i++) {
+			double pick = random.nextDouble() * total;
+			byte op = RANGE;
+
+			for(byte o = READ; o < RANGE; o++) {
+				if(pick < Ratios[o]) {
+					op = o;
+					break;
+				}
+				pick -= Ratios[o];
+			}
+
+			trace.ops[i] = op;
+			if(zipfian != null) {
+				trace.keys[i] = scramble(zipfian.nextRank());
+			} else if(Distribution.equals("sequential")) {
+				trace.keys[i] = (int) (sequence++ % KeySpace);
+			} else {
+				trace.keys[i] = random.nextInt(KeySpace);
+			}
+		}
+
+		for(int i = 0; i < trace.preload.length; i++) {
+			trace.preload[i] = random.nextInt(KeySpace);
+		}
+
+		return trace;
+	}
+
+	private static void writeTrace(Trace trace, String path) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+			out.writeInt(TraceMagic);
+			out.writeInt(TraceVersion);
+			out.writeInt(trace.keySpace);
+			out.writeInt(trace.rangeLength);
+			out.writeInt(trace.ops.length);
+			out.writeInt(trace.preload.length);
+			for(int key : trace.preload) {
+				out.writeInt(key);
+			}
+			for(int i = 0; i < trace.ops.length; i++) {
+				out.writeByte(trace.ops[i]);
+				out.writeInt(trace.keys[i]);
+			}
+		}
+	}
+
+	private static Trace readTrace(String path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+			if(in.readInt() != TraceMagic) {
+				throw new IOException(path + " is not a workload trace");
+			}
+			if(in.readInt() != TraceVersion) {
+				throw new IOException(path + " was recorded by an incompatible version");
+			}
+
+			int keySpace = in.readInt();
+			int rangeLength = in.readInt();
+			int howMany = in.readInt();
+			int preloadSize = in.readInt();
+			if(keySpace <= 0 || rangeLength < 0 || howMany < 0 || preloadSize < 0) {
+				throw new IOException(path + " has a corrupt header");
+			}
+
+			Trace trace = new Trace(howMany, preloadSize, keySpace, rangeLength);
+			for(int i = 0; i < trace.preload.length; i++) {
+				trace.preload[i] = in.readInt();
+			}
+			for(int i = 0; i < trace.ops.length; i++) {
+				trace.ops[i] = in.readByte();
+				trace.keys[i] = in.readInt();
+				if(trace.ops[i] < READ || trace.ops[i] > RANGE) {
+					throw new IOException(path + " has an unknown operation at index " + i);
+				}
+			}
+			return trace;
+		}
+	}
+
+	private static ArrayList<Integer> preloadOf(Trace trace) {
+		ArrayList<Integer> keys = new ArrayList<Integer>(trace.preload.length);
+
+		for(int key : trace.preload) {
+			keys.add(Integer.valueOf(key));
+		}
+
+		return keys;
+	}
+
+	private static LatencyHistogram[] runThread(Target target, Trace trace, int thread) {
+		LatencyHistogram[] histograms = new LatencyHistogram[OpNames.length];
+
+		for(int o = 0; o < histograms.length; o++) {
+			histograms[o] = new LatencyHistogram();
+		}
+
+		for(int i = thread; i < trace.ops.length; i += Threads) {
+			int key = trace.keys[i];
+			long start = System.nanoTime();
+
+			switch(trace.ops[i]) {
+				case READ: target.contains(key); break;
+				case INSERT: target.add(key); break;
+				case DELETE: target.remove(key); break;
+				default: target.range(key, RangeLength); break;
+			}
+
+			histograms[trace.ops[i]].record(System.nanoTime() - start);
+		}
+
+		return histograms;
+	}
+
+	private static void executeTarget(Target target, Trace trace, List<Integer> preload) throws InterruptedException {
+		LatencyHistogram[] merged = new LatencyHistogram[OpNames.length];
+		List<LatencyHistogram[]> results = Collections.synchronizedList(new ArrayList<LatencyHistogram[]>());
+		Thread[] workers = new Thread[Threads];
+
+		target.load(preload);
+		System.gc();
+
+		long start = System.currentTimeMillis();
+		for(int t = 0; t < Threads; t++) {
+			final int thread = t;
+			workers[t] = new Thread(() -> results.add(runThread(target, trace, thread)));
+			workers[t].start();
+		}
+		for(Thread worker : workers) {
+			worker.join();
+		}
+		long ms = System.currentTimeMillis() - start;
+
+		for(int o = 0; o < merged.length; o++) {
+			merged[o] = new LatencyHistogram();
+			for(LatencyHistogram[] result : results) {
+				merged[o].merge(result[o]);
+			}
+		}
+
+		System.out.printf("  %-28s total: %,8dms\n", target.name(), ms);
+		System.out.printf("    %-8s %12s %10s %10s %10s %12s\n", "op", "count", "p50(ns)", "p99(ns)", "p99.9(ns)", "max(ns)");
+		for(int o = 0; o < merged.length; o++) {
+			if(merged[o].count == 0) continue;
+			System.out.printf("    %-8s %,12d %,10d %,10d %,10d %,12d\n", OpNames[o], merged[o].count,
+					merged[o].percentile(50), merged[o].percentile(99), merged[o].percentile(99.9), merged[o].max);
+		}
+		System.out.printf("\n");
+	}
+
+	private static void parseArguments(String args[]) {
+		for(String arg : args) {
+			String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+			String value = pair.length > 1 ? pair[1] : "";
+
+			switch(pair[0]) {
+				case "ops": TraceOps = Integer.parseInt(value); break;
+				case "keys": KeySpace = Integer.parseInt(value); break;
+				case "read": Ratios[READ] = Double.parseDouble(value); break;
+				case "insert": Ratios[INSERT] = Double.parseDouble(value); break;
+				case "delete": Ratios[DELETE] = Double.parseDouble(value); break;
+				case "range": Ratios[RANGE] = Double.parseDouble(value); break;
+				case "range-length": RangeLength = Integer.parseInt(value); break;
+				case "dist": Distribution = value; break;
+				case "theta": Theta = Double.parseDouble(value); break;
+				case "threads": Threads = Integer.parseInt(value); break;
+				case "seed": RandomSeed = Long.parseLong(value); break;
+				case "record": RecordPath = value; break;
+				case "replay": ReplayPath = value; break;
+				default: throw new IllegalArgumentException("Unknown option: " + arg);
+			}
+		}
+
+		if(!Distribution.equals("uniform") && !Distribution.equals("zipfian") && !Distribution.equals("sequential")) {
+			throw new IllegalArgumentException("Unknown distribution: " + Distribution);
+		}
+
+		if(!(Theta > 0 && Theta < 1)) {
+			throw new IllegalArgumentException("Theta must lie strictly between 0 and 1: " + Theta);
+		}
+
+		if(Threads < 1) {
+			throw new IllegalArgumentException("Threads must be at least 1: " + Threads);
+		}
+	}
+
+	public SkipListWorkload() {}
+
+	public static void main(String args[]) throws IOException, InterruptedException {
+		parseArguments(args);
+
+		Random random = new Random(RandomSeed);
+		Trace trace;
+
+		if(ReplayPath != null) {
+			trace = readTrace(ReplayPath);
+			KeySpace = trace.keySpace;
+			RangeLength = trace.rangeLength;
+			System.out.printf("WORKLOAD: replaying %,d operations from %s over %,d keys, range length %d, %d thread(s)\n",
+					trace.ops.length, ReplayPath, KeySpace, RangeLength, Threads);
+		} else {
+			trace = generateTrace(random);
+			System.out.printf("WORKLOAD: %,d operations (read %.0f%%, insert %.0f%%, delete %.0f%%, range %.0f%%), %s keys over %,d, %d thread(s)\n",
+					TraceOps, Ratios[READ] * 100, Ratios[INSERT] * 100, Ratios[DELETE] * 100, Ratios[RANGE] * 100,
+					Distribution, KeySpace, Threads);
+		}
+
+		if(RecordPath != null) {
+			writeTrace(trace, RecordPath);
+			System.out.printf("Trace recorded to %s\n", RecordPath);
+		}
+
+		ArrayList<Integer> preload = preloadOf(trace);
+		System.out.printf("Preloading %,d keys...\n\n", preload.size());
+
+		Target skipListSet = new SkipListSetTarget();
+		Target treeSet = new NavigableSetTarget("TreeSet", new TreeSet<Integer>());
+
+		executeTarget(Threads > 1 ? new LockedTarget(skipListSet) : skipListSet, trace, preload);
+		System.gc();
+		executeTarget(Threads > 1 ? new LockedTarget(treeSet) : treeSet, trace, preload);
+		System.gc();
+		executeTarget(new NavigableSetTarget("ConcurrentSkipListSet", new ConcurrentSkipListSet<Integer>()), trace, preload);
+		System.gc();
+	}
+}